@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a single run of each {@link BeanTestBase} check using the
+ * {@link TestBean1} fixture, which passes all checks.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BeanCheckBenchmark {
+	@Param({
+		"propertyTestForAllConstructors",
+		"copyConstructorEqualsTest",
+		"copyConstructorValuesTest",
+		"copyConstructorEmptyEqualsTest",
+		"copyConstructorEmptyValuesTest",
+		"toStringTestForAllConstructorsEmpty",
+		"toStringTestForAllConstructorsFilled",
+		"equalsIdentityTest",
+		"equalsValuesTest",
+		"hashCodeTest" })
+	public String check;
+
+	private TestBean1Test test;
+
+	@Setup
+	public void setup() {
+		test = new TestBean1Test();
+	}
+
+	@Benchmark
+	public void checkImpl() throws ReflectiveOperationException {
+		switch (check) {
+		case "propertyTestForAllConstructors":
+			test.propertyTestForAllConstructorsImpl();
+			break;
+		case "copyConstructorEqualsTest":
+			test.copyConstructorEqualsTestImpl();
+			break;
+		case "copyConstructorValuesTest":
+			test.copyConstructorValuesTestImpl();
+			break;
+		case "copyConstructorEmptyEqualsTest":
+			test.copyConstructorEmptyEqualsTestImpl();
+			break;
+		case "copyConstructorEmptyValuesTest":
+			test.copyConstructorEmptyValuesTestImpl();
+			break;
+		case "toStringTestForAllConstructorsEmpty":
+			test.toStringTestForAllConstructorsEmptyImpl();
+			break;
+		case "toStringTestForAllConstructorsFilled":
+			test.toStringTestForAllConstructorsFilledImpl();
+			break;
+		case "equalsIdentityTest":
+			test.equalsIdentityTestImpl();
+			break;
+		case "equalsValuesTest":
+			test.equalsValuesTestImpl();
+			break;
+		case "hashCodeTest":
+			test.hashCodeTestImpl();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown check: " + check);
+		}
+	}
+}
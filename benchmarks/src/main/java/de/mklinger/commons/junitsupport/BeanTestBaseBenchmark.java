@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link BeanTestBase#fillBean(Object, String[])} and
+ * {@link BeanTestBase#getFieldValue(Object, String)} over the test bean
+ * fixtures.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BeanTestBaseBenchmark {
+	@Param({ "TestBean1", "TestBean2", "TestBean3", "TestBean4", "TestBean5", "TestBean6", "TestBean7", "TestBean8", "TestBean9" })
+	public String beanClassName;
+
+	private BeanTestBase<Object> test;
+	private Object bean;
+	private Collection<String> propertyNames;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		@SuppressWarnings("unchecked")
+		final Class<Object> beanClass = (Class<Object>) Class.forName(BeanTestBase.class.getPackage().getName() + "." + beanClassName);
+		test = new BeanTestBase<>(beanClass);
+		bean = beanClass.getConstructor().newInstance();
+		propertyNames = test.getBeanPropertyNames();
+		test.fillBean(bean, null);
+	}
+
+	@Benchmark
+	public Map<String, Object> fillBean() throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		return test.fillBean(bean, null);
+	}
+
+	@Benchmark
+	public void getFieldValues(final Blackhole blackhole) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		for (final String propertyName : propertyNames) {
+			blackhole.consume(test.getFieldValue(bean, propertyName));
+		}
+	}
+}
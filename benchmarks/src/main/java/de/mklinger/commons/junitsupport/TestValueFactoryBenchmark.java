@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Type;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link TestValueFactory#createValue(Type)} for scalars, arrays,
+ * enums and nested parameterized collections.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TestValueFactoryBenchmark {
+	/** Enum type for value creation. */
+	public enum Color {
+		RED, GREEN, BLUE
+	}
+
+	/** Holder for the generic types to create values for. */
+	@SuppressWarnings("unused")
+	private static class Types {
+		private long longValue;
+		private String stringValue;
+		private Date dateValue;
+		private Color enumValue;
+		private int[] intArray;
+		private String[] stringArray;
+		private List<String> stringList;
+		private Map<String, List<Set<Long>>> nestedMap;
+	}
+
+	@Param({ "longValue", "stringValue", "dateValue", "enumValue", "intArray", "stringArray", "stringList", "nestedMap" })
+	public String type;
+
+	private TestValueFactory factory;
+	private Type valueType;
+
+	@Setup
+	public void setup() throws NoSuchFieldException {
+		final Random random = new Random(1L);
+		factory = new TestValueFactory(random::nextLong);
+		valueType = Types.class.getDeclaredField(type).getGenericType();
+	}
+
+	@Benchmark
+	public Object createValue() {
+		return factory.createValue(valueType);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the number of bytes the current thread allocates per call of an
+ * operation. Uses the allocation counter of the thread MX bean of HotSpot
+ * based JVMs. Operations are warmed up before measuring, so the result
+ * reflects compiled code including escape analysis.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class AllocationMeter {
+	private static final int MIN_WARM_UP_CALLS = 20_000;
+	private static final int CALIBRATION_ROUNDS = 5;
+
+	private final com.sun.management.ThreadMXBean threadMXBean;
+	private final long threadId;
+	private final long overhead;
+	private volatile int sink;
+
+	private AllocationMeter(final com.sun.management.ThreadMXBean threadMXBean) {
+		this.threadMXBean = threadMXBean;
+		this.threadId = Thread.currentThread().getId();
+		long overhead = Long.MAX_VALUE;
+		for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+			final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+			final long after = threadMXBean.getThreadAllocatedBytes(threadId);
+			overhead = Math.min(overhead, after - before);
+		}
+		this.overhead = overhead;
+	}
+
+	/**
+	 * Create a meter for the current thread. The meter must only be used by
+	 * this thread.
+	 * @return The meter or <code>null</code> if the JVM does not support
+	 *         measuring allocated bytes per thread
+	 */
+	static AllocationMeter forCurrentThread() {
+		final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+		return threadMXBean != null ? new AllocationMeter(threadMXBean) : null;
+	}
+
+	/**
+	 * Does the JVM support measuring allocated bytes per thread?
+	 */
+	static boolean isSupported() {
+		return getThreadMXBean() != null;
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		final com.sun.management.ThreadMXBean hotSpotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+		if (!hotSpotThreadMXBean.isThreadAllocatedMemorySupported() || !hotSpotThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+			return null;
+		}
+		return hotSpotThreadMXBean;
+	}
+
+	/**
+	 * Warm up the operation and measure the bytes allocated per call.
+	 * @param calls The number of measured calls. The operation is called at
+	 *        least {@value #MIN_WARM_UP_CALLS} times before for warm-up.
+	 * @return The mean number of bytes allocated per call
+	 */
+	double getBytesPerCall(final MeasuredOperation operation, final int calls) throws Throwable {
+		if (Thread.currentThread().getId() != threadId) {
+			throw new IllegalStateException("Allocation meter used by another thread");
+		}
+		int result = 0;
+		final int warmUpCalls = Math.max(calls, MIN_WARM_UP_CALLS);
+		for (int i = 0; i < warmUpCalls; i++) {
+			result += operation.call(i);
+		}
+		final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < calls; i++) {
+			result += operation.call(i);
+		}
+		final long after = threadMXBean.getThreadAllocatedBytes(threadId);
+		sink = result;
+		return Math.max(0, after - before - overhead) / (double) calls;
+	}
+}
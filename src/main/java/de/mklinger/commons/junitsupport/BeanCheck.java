@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+/**
+ * The checks performed by {@link BeanTestBase}, one per test method.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+enum BeanCheck {
+	PROPERTIES,
+	COPY_CONSTRUCTOR_EQUALS,
+	COPY_CONSTRUCTOR_VALUES,
+	COPY_CONSTRUCTOR_EMPTY_EQUALS,
+	COPY_CONSTRUCTOR_EMPTY_VALUES,
+	TO_STRING_EMPTY,
+	TO_STRING_FILLED,
+	EQUALS_IDENTITY,
+	EQUALS_VALUES,
+	HASH_CODE
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable reflection model of a bean class. Models are built once per class
+ * and shared by all test instances in the JVM. The only mutable state is the
+ * set of missing accessor warnings already logged.
+ * @param <T> The bean type
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class BeanModel<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(BeanModel.class);
+
+	private static final ConcurrentMap<Class<?>, BeanModel<?>> MODELS = new ConcurrentHashMap<>();
+
+	private static final String SETTER_PREFIX = "set";
+
+	private final Class<T> beanClass;
+	private final MemberIndex index;
+	private final Set<String> setterPropertyNames;
+	private final Map<String, BeanProperty> properties;
+	private final Constructor<T> copyConstructor;
+	private final boolean declaresEquals;
+	private final boolean declaresHashCode;
+	private final boolean declaresToString;
+	private final Set<String> reportedMissingAccessors = ConcurrentHashMap.newKeySet();
+
+	private BeanModel(final Class<T> beanClass) {
+		this.beanClass = beanClass;
+		this.index = new MemberIndex(beanClass);
+		this.setterPropertyNames = Collections.unmodifiableSet(findSetterPropertyNames(index));
+
+		final Map<String, BeanProperty> properties = new HashMap<>();
+		for (final Field field : index.getFields()) {
+			putProperty(properties, field.getName());
+		}
+		for (final String propertyName : setterPropertyNames) {
+			putProperty(properties, propertyName);
+		}
+		this.properties = Collections.unmodifiableMap(properties);
+
+		@SuppressWarnings("unchecked")
+		final Constructor<T> copyConstructor = (Constructor<T>) index.getPublicConstructor(beanClass);
+		this.copyConstructor = copyConstructor;
+		this.declaresEquals = declaresMethod(index, "equals", Object.class);
+		this.declaresHashCode = declaresMethod(index, "hashCode");
+		this.declaresToString = declaresMethod(index, "toString");
+	}
+
+	/**
+	 * Get the shared model for the given bean class.
+	 * @param beanClass The bean class
+	 * @return The model, built on first access
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> BeanModel<T> of(final Class<T> beanClass) {
+		return (BeanModel<T>) MODELS.computeIfAbsent(beanClass, BeanModel::new);
+	}
+
+	Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * Get all fields of the bean class, including fields from parent classes
+	 * whether or not they are visible.
+	 */
+	List<Field> getFields() {
+		return index.getFields();
+	}
+
+	/**
+	 * Get the names of all properties having a setter method and a getter
+	 * method. Setters from parent classes are included whether or not they are
+	 * visible.
+	 */
+	Set<String> getSetterPropertyNames() {
+		return setterPropertyNames;
+	}
+
+	/**
+	 * Get the property with the given name.
+	 * @return The property or <code>null</code> if there is neither a field
+	 *         nor a getter for the given name
+	 */
+	BeanProperty getProperty(final String propertyName) {
+		return properties.get(propertyName);
+	}
+
+	Constructor<T> getCopyConstructor() {
+		return copyConstructor;
+	}
+
+	boolean declaresEquals() {
+		return declaresEquals;
+	}
+
+	boolean declaresHashCode() {
+		return declaresHashCode;
+	}
+
+	boolean declaresToString() {
+		return declaresToString;
+	}
+
+	/**
+	 * Log a warning about a missing getter or setter. Each warning is only
+	 * logged once per bean class and property.
+	 * @param accessorKind "getter" or "setter"
+	 * @return <code>true</code> if the warning was logged,
+	 *         <code>false</code> if it was logged before
+	 */
+	boolean warnMissingAccessor(final String accessorKind, final String propertyName) {
+		if (!reportedMissingAccessors.add(accessorKind + "#" + propertyName)) {
+			return false;
+		}
+		LOG.warn("No {} found for property: {}#{}", accessorKind, beanClass.getName(), propertyName);
+		return true;
+	}
+
+	private void putProperty(final Map<String, BeanProperty> properties, final String propertyName) {
+		if (!properties.containsKey(propertyName)) {
+			final BeanProperty property = BeanProperty.resolve(index, propertyName);
+			if (property != null) {
+				properties.put(propertyName, property);
+			}
+		}
+	}
+
+	private static Set<String> findSetterPropertyNames(final MemberIndex index) {
+		final Set<String> setterPropertyNames = new LinkedHashSet<>();
+		for (final Method method : index.getDeclaredMethods()) {
+			if (method.getName().startsWith(SETTER_PREFIX) && method.getParameterTypes().length == 1) {
+				final String propertyName = BeanProperty.decapitalize(method.getName().substring(SETTER_PREFIX.length()));
+				if (BeanProperty.findGetter(index, propertyName) != null) {
+					setterPropertyNames.add(propertyName);
+				}
+			}
+		}
+		return setterPropertyNames;
+	}
+
+	private static boolean declaresMethod(final MemberIndex index, final String name, final Class<?>... parameterTypes) {
+		final Method method = index.getPublicMethod(name, parameterTypes);
+		return method != null && method.getDeclaringClass() != Object.class;
+	}
+}
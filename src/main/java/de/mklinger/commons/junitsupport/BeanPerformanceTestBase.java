@@ -0,0 +1,752 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bean test with additional opt-in checks of the hash code quality of a
+ * bean and of the allocations, latency and complexity of its methods. Each
+ * of these checks is reported as skipped unless it is enabled, either
+ * suite-wide, see {@link TestRunProfile}, or by overriding its
+ * setting in the test class. Skipped checks are neither cached nor timed.
+ * <p>
+ * Unlike {@link BeanTestBase}, the bean class must be passed to the
+ * constructor.
+ * </p>
+ * @param <T> The bean type
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+@Ignore("Not a test")
+public class BeanPerformanceTestBase<T> extends BeanTestBase<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(BeanPerformanceTestBase.class);
+
+	private static final int MAX_DISTINCT_BEAN_ATTEMPTS = 4;
+	/** Number of beans the allocation and latency checks cycle through, a power of two. */
+	private static final int MEASURED_BEANS = 16;
+	private static final int COMPLEXITY_MIN_SIZE = 10;
+	private static final int COMPLEXITY_SIZE_FACTOR = 10;
+	/** Number of beans the complexity check cycles through, a power of two. */
+	private static final int COMPLEXITY_BEANS = 2;
+	private static final int COMPLEXITY_ITERATIONS = 5;
+
+	/**
+	 * Create a new BeanPerformanceTestBase instance.
+	 * @param beanClass The bean class to test
+	 */
+	public BeanPerformanceTestBase(final Class<T> beanClass) {
+		super(beanClass);
+	}
+
+	/**
+	 * Create a new BeanPerformanceTestBase instance.
+	 * @param beanClass The bean class to test
+	 */
+	public BeanPerformanceTestBase(final Class<T> beanClass, final boolean treatIgnoreAsSuccess) {
+		super(beanClass, treatIgnoreAsSuccess);
+	}
+
+	/**
+	 * Create a new BeanPerformanceTestBase instance.
+	 * @param beanClass The bean class to test
+	 */
+	public BeanPerformanceTestBase(final Class<T> beanClass, final int testRuns) {
+		super(beanClass, testRuns);
+	}
+
+	/**
+	 * Create a new BeanPerformanceTestBase instance.
+	 * @param beanClass The bean class to test
+	 */
+	public BeanPerformanceTestBase(final Class<T> beanClass, final int testRuns, final boolean treatIgnoreAsSuccess) {
+		super(beanClass, testRuns, treatIgnoreAsSuccess);
+	}
+
+	/**
+	 * Get the number of distinct beans to check the distribution of hash codes
+	 * with, see {@link #hashCodeDistributionTest()}. This is also the number of
+	 * changes of each property in {@link #hashCodeSensitivityTest()}.
+	 * @return The number of beans or 0 to skip the check. Default is the
+	 *         suite-wide setting <code>hashCodeSamples</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected int getHashCodeSamples() {
+		return TestRunProfile.get().getHashCodeSamples();
+	}
+
+	/**
+	 * Get the minimum score of the hash code distribution. The score is about
+	 * 1 for random hash codes and 0 for constant hash codes.
+	 * @return The minimum score. Default is the suite-wide setting
+	 *         <code>minHashCodeScore</code>, see {@link TestRunProfile}.
+	 */
+	protected double getMinHashCodeScore() {
+		return TestRunProfile.get().getMinHashCodeScore();
+	}
+
+	/**
+	 * Get the minimum share of changes of a single property, making the bean
+	 * unequal, that must change the hash code.
+	 * @return The minimum share from 0 to 1. Default is the suite-wide
+	 *         setting <code>minHashCodeSensitivity</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected double getMinHashCodeSensitivity() {
+		return TestRunProfile.get().getMinHashCodeSensitivity();
+	}
+
+	/**
+	 * Get the number of measured calls of each operation in
+	 * {@link #allocationTest()}.
+	 * @return The number of calls or 0 to skip the check. Default is the
+	 *         suite-wide setting <code>allocationCalls</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected int getAllocationCalls() {
+		return TestRunProfile.get().getAllocationCalls();
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per hashCode call.
+	 * @return The number of bytes or -1 for no limit. Default is the
+	 *         suite-wide setting <code>maxHashCodeAllocatedBytes</code>, 0
+	 *         if not set, see {@link TestRunProfile}.
+	 */
+	protected long getMaxHashCodeAllocatedBytes() {
+		return TestRunProfile.get().getMaxHashCodeAllocatedBytes();
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per equals call.
+	 * @return The number of bytes or -1 for no limit. Default is the
+	 *         suite-wide setting <code>maxEqualsAllocatedBytes</code>, 0 if
+	 *         not set, see {@link TestRunProfile}.
+	 */
+	protected long getMaxEqualsAllocatedBytes() {
+		return TestRunProfile.get().getMaxEqualsAllocatedBytes();
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per getter call. Getters
+	 * returning defensive copies allocate by design, so there is no limit
+	 * unless configured.
+	 * @return The number of bytes or -1 for no limit. Default is the
+	 *         suite-wide setting <code>maxGetterAllocatedBytes</code>, -1 if
+	 *         not set, see {@link TestRunProfile}.
+	 */
+	protected long getMaxGetterAllocatedBytes() {
+		return TestRunProfile.get().getMaxGetterAllocatedBytes();
+	}
+
+	/**
+	 * Get the file with the baseline latencies for {@link #latencyTest()}.
+	 * @return The file name or <code>null</code> to skip the check. Default
+	 *         is the suite-wide setting <code>latencyBaselineFile</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected String getLatencyBaselineFile() {
+		return TestRunProfile.get().getLatencyBaselineFile();
+	}
+
+	/**
+	 * Get the maximum relative regression of the median latency against the
+	 * baseline, e.g. 0.5 for 50% slower than the baseline.
+	 * @return The tolerance. Default is the suite-wide setting
+	 *         <code>latencyTolerance</code>, see {@link TestRunProfile}.
+	 */
+	protected double getLatencyTolerance() {
+		return TestRunProfile.get().getLatencyTolerance();
+	}
+
+	/**
+	 * Get the number of measurement rounds with fresh beans in
+	 * {@link #latencyTest()}.
+	 * @return The number of rounds. Default is the suite-wide setting
+	 *         <code>latencyRounds</code>, see {@link TestRunProfile}.
+	 */
+	protected int getLatencyRounds() {
+		return TestRunProfile.get().getLatencyRounds();
+	}
+
+	/**
+	 * Get the number of warm-up and of measured iterations per round in
+	 * {@link #latencyTest()}.
+	 * @return The number of iterations. Default is the suite-wide setting
+	 *         <code>latencyIterations</code>, see {@link TestRunProfile}.
+	 */
+	protected int getLatencyIterations() {
+		return TestRunProfile.get().getLatencyIterations();
+	}
+
+	/**
+	 * Get the largest size of collection, map and array properties in
+	 * {@link #complexityTest()}. Sizes grow from 10 by factors of 10 up to
+	 * this size.
+	 * @return The size, at least 100, or 0 to skip the check. Default is the
+	 *         suite-wide setting <code>complexityMaxSize</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected int getComplexityMaxSize() {
+		return TestRunProfile.get().getComplexityMaxSize();
+	}
+
+	/**
+	 * Get the maximum growth exponent of the latency of equals, hashCode and
+	 * toString with the size of collection, map and array properties, e.g. 1
+	 * for linear growth. As measurements are noisy, the bound should be
+	 * between the accepted and the rejected growth.
+	 * @return The exponent. Default is the suite-wide setting
+	 *         <code>maxComplexityExponent</code>, 1.5 if not set, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected double getMaxComplexityExponent() {
+		return TestRunProfile.get().getMaxComplexityExponent();
+	}
+
+	/**
+	 * Test the distribution of hash codes of distinct filled beans in hash
+	 * tables. The test is skipped unless {@link #getHashCodeSamples()} is
+	 * set. It fails if too many beans share their hash code or if the spread
+	 * hash codes cluster in the buckets of power-of-two sized tables like
+	 * those of {@link java.util.HashMap}.
+	 */
+	@Test
+	public void hashCodeDistributionTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final int samples = getHashCodeSamples();
+		if (samples <= 0) {
+			LOG.debug("Skipping hashCode distribution test as no samples are configured.");
+			RuntimeIgnore.ignore();
+		}
+		runTest(() -> runSingleTestRun("HASH_CODE_DISTRIBUTION", () -> hashCodeDistributionTestImpl(samples)));
+	}
+
+	protected void hashCodeDistributionTestImpl(final int samples) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		assumeDeclaresEquals("hashCode distribution");
+		assumeDeclaresHashCode();
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing hashCode distribution for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final HashCodeDistribution distribution = HashCodeDistribution.of(createDistinctHashCodes(constructorParameters, samples));
+			LOG.info("hashCode distribution of {}: {}", getBeanClass().getName(), distribution);
+			if (distribution.getScore() < getMinHashCodeScore()) {
+				Assert.fail("Poor hashCode distribution of " + getBeanClass().getName() + " below minimum score " + getMinHashCodeScore() + ": " + distribution);
+			}
+		}
+	}
+
+	/**
+	 * Test how often a change of a single property changes the hash code. For
+	 * each property, pairs of filled beans that differ in this property only
+	 * are created. Pairs of equal beans are not counted, so properties not
+	 * used by equals are not reported. The test is skipped unless
+	 * {@link #getHashCodeSamples()} is set. It fails for properties that
+	 * rarely or never change the hash code, e.g. because they are missing in
+	 * hashCode or cancel out with other properties.
+	 */
+	@Test
+	public void hashCodeSensitivityTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final int samples = getHashCodeSamples();
+		if (samples <= 0) {
+			LOG.debug("Skipping hashCode sensitivity test as no samples are configured.");
+			RuntimeIgnore.ignore();
+		}
+		runTest(() -> runSingleTestRun("HASH_CODE_SENSITIVITY", () -> hashCodeSensitivityTestImpl(samples)));
+	}
+
+	protected void hashCodeSensitivityTestImpl(final int samples) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		assumeDeclaresEquals("hashCode sensitivity");
+		assumeDeclaresHashCode();
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing hashCode sensitivity for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final Set<String> propsToOmit = toSet(constructorParameters.getPropertyNames());
+			final StringBuilder report = new StringBuilder();
+			final StringBuilder insensitive = new StringBuilder();
+			for (final String propertyName : new TreeSet<>(getBeanPropertyNames())) {
+				if (propsToOmit != null && propsToOmit.contains(propertyName)) {
+					continue;
+				}
+				final String result = getHashCodeSensitivity(constructorParameters, propertyName, samples, insensitive);
+				if (result != null) {
+					report.append(String.format("%n  ")).append(result);
+				}
+			}
+			LOG.info("hashCode sensitivity of {} properties:{}", getBeanClass().getName(), report);
+			if (insensitive.length() > 0) {
+				Assert.fail("Properties of " + getBeanClass().getName() + " that change the hash code in less than " + getMinHashCodeSensitivity() * 100 + "% of changes:" + insensitive);
+			}
+		}
+	}
+
+	/**
+	 * Change a single property of filled beans and count hash code changes.
+	 * @param insensitive Report lines of properties below the minimum
+	 *        sensitivity are appended to this builder
+	 * @return The report line or <code>null</code> if changing the property
+	 *         never makes the beans unequal
+	 */
+	private String getHashCodeSensitivity(final ConstructorParameters constructorParameters, final String propertyName, final int samples, final StringBuilder insensitive) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		int changes = 0;
+		int hashCodeChanges = 0;
+		long changedBits = 0;
+		final int maxAttempts = samples * MAX_DISTINCT_BEAN_ATTEMPTS;
+		for (int attempt = 0; attempt < maxAttempts && changes < samples; attempt++) {
+			final T bean1 = createInstance(constructorParameters);
+			final Map<String, Object> values = fillBean(bean1, constructorParameters.getPropertyNames());
+			final T bean2 = createInstance(constructorParameters);
+			for (final Map.Entry<String, Object> e : values.entrySet()) {
+				if (!e.getKey().equals(propertyName)) {
+					fillProperty(bean2, e.getKey(), e.getValue());
+				}
+			}
+			fillProperty(bean2, propertyName);
+			if (!bean1.equals(bean2)) {
+				changes++;
+				final int diff = bean1.hashCode() ^ bean2.hashCode();
+				if (diff != 0) {
+					hashCodeChanges++;
+				}
+				changedBits += Integer.bitCount(diff);
+			}
+		}
+		if (changes == 0) {
+			return null;
+		}
+		final double sensitivity = (double) hashCodeChanges / changes;
+		final String result = String.format(Locale.ROOT, "%s: %.1f%% of %d changes change the hash code, %.1f%% of hash code bits change on average",
+				propertyName, sensitivity * 100, changes, changedBits * 100.0 / (changes * (long) Integer.SIZE));
+		if (sensitivity < getMinHashCodeSensitivity()) {
+			insensitive.append(String.format("%n  ")).append(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Get the hash codes of up to the given number of distinct filled beans.
+	 * Fewer beans are used if the values of the bean properties do not allow
+	 * for enough distinct beans.
+	 */
+	private int[] createDistinctHashCodes(final ConstructorParameters constructorParameters, final int samples) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final Set<T> beans = new HashSet<>();
+		final int maxAttempts = samples * MAX_DISTINCT_BEAN_ATTEMPTS;
+		for (int attempt = 0; attempt < maxAttempts && beans.size() < samples; attempt++) {
+			// new constructor values for each bean
+			clearConstructorPropertyValues();
+			final T bean = createInstance(constructorParameters);
+			fillBean(bean, constructorParameters.getPropertyNames());
+			beans.add(bean);
+		}
+		final int[] hashCodes = new int[beans.size()];
+		int i = 0;
+		for (final T bean : beans) {
+			hashCodes[i++] = bean.hashCode();
+		}
+		return hashCodes;
+	}
+
+	/**
+	 * Test the number of bytes allocated per call of equals, hashCode and the
+	 * getters of filled beans. Each operation is warmed up before measuring,
+	 * so allocations removed by the JIT compiler are not counted. Getter
+	 * results are dropped without boxing. The test is skipped unless
+	 * {@link #getAllocationCalls()} is set or if the JVM does not measure
+	 * allocated bytes per thread. It fails for operations exceeding their
+	 * budget, see {@link #getMaxHashCodeAllocatedBytes()},
+	 * {@link #getMaxEqualsAllocatedBytes()} and
+	 * {@link #getMaxGetterAllocatedBytes()}.
+	 */
+	@Test
+	public void allocationTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final int calls = getAllocationCalls();
+		if (calls <= 0) {
+			LOG.debug("Skipping allocation test as no calls are configured.");
+			RuntimeIgnore.ignore();
+		}
+		if (!AllocationMeter.isSupported()) {
+			LOG.info("Skipping allocation test as the JVM does not measure allocated bytes per thread.");
+			RuntimeIgnore.ignore();
+		}
+		runTest(() -> runSingleTestRun("ALLOCATION", () -> allocationTestImpl(calls)));
+	}
+
+	protected void allocationTestImpl(final int calls) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final AllocationMeter meter = AllocationMeter.forCurrentThread();
+		if (meter == null) {
+			throw new IllegalStateException("The JVM does not measure allocated bytes per thread");
+		}
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing allocation for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final List<T> beans = new ArrayList<>(MEASURED_BEANS);
+			final List<T> twins = new ArrayList<>(MEASURED_BEANS);
+			createBeansAndTwins(constructorParameters, beans, twins);
+			final int mask = MEASURED_BEANS - 1;
+			final StringBuilder report = new StringBuilder();
+			final StringBuilder exceeded = new StringBuilder();
+			if (declaresHashCode()) {
+				measureAllocation(meter, "hashCode", n -> beans.get(n & mask).hashCode(), calls, getMaxHashCodeAllocatedBytes(), report, exceeded);
+			}
+			if (declaresEquals()) {
+				measureAllocation(meter, "equals", n -> beans.get(n & mask).equals(twins.get(n & mask)) ? 1 : 0, calls, getMaxEqualsAllocatedBytes(), report, exceeded);
+			}
+			for (final String propertyName : new TreeSet<>(getBeanPropertyNames())) {
+				final BeanProperty property = getBeanModel().getProperty(propertyName);
+				if (property == null || property.getGetter() == null) {
+					continue;
+				}
+				final PropertyAccessors.Invoker getter = PropertyAccessors.invoker(property.getGetter());
+				measureAllocation(meter, property.getGetter().getName(), n -> {
+					getter.invoke(beans.get(n & mask));
+					return n;
+				}, calls, getMaxGetterAllocatedBytes(), report, exceeded);
+			}
+			LOG.info("Bytes allocated per call by {}:{}", getBeanClass().getName(), report);
+			if (exceeded.length() > 0) {
+				Assert.fail("Methods of " + getBeanClass().getName() + " allocating more bytes per call than their budget:" + exceeded);
+			}
+		}
+	}
+
+	/**
+	 * Measure the bytes allocated per call of a single operation.
+	 * @param maxBytes The budget per call or -1 for no limit
+	 * @param report The report line is appended to this builder
+	 * @param exceeded The report line is appended to this builder if the
+	 *        operation exceeds its budget
+	 */
+	private static void measureAllocation(final AllocationMeter meter, final String name, final MeasuredOperation operation, final int calls, final long maxBytes, final StringBuilder report, final StringBuilder exceeded) throws InvocationTargetException {
+		final double bytesPerCall;
+		try {
+			bytesPerCall = meter.getBytesPerCall(operation, calls);
+		} catch (final RuntimeException | Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+		final String result = String.format(Locale.ROOT, "%s: %.1f bytes", name, bytesPerCall);
+		report.append(String.format("%n  ")).append(result);
+		if (maxBytes >= 0 && bytesPerCall > maxBytes) {
+			exceeded.append(String.format("%n  ")).append(result).append(", budget ").append(maxBytes).append(" bytes");
+		}
+	}
+
+	/**
+	 * Test the latency of equals, hashCode and toString of filled beans
+	 * against the baseline file. The methods are measured in several rounds
+	 * with fresh beans, each with warm-up and measured iterations, and the
+	 * median and 99th percentile of the iterations are reported. The test is
+	 * skipped unless {@link #getLatencyBaselineFile()} is set. It fails if the
+	 * median latency of a method exceeds its baseline by more than
+	 * {@link #getLatencyTolerance()} or if a method has no baseline. The
+	 * baseline file is only written if
+	 * {@link TestRunProfile#isUpdateLatencyBaseline()} is set.
+	 */
+	@Test
+	public void latencyTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final String baselineFile = getLatencyBaselineFile();
+		if (baselineFile == null) {
+			LOG.debug("Skipping latency test as no baseline file is configured.");
+			RuntimeIgnore.ignore();
+		}
+		runTest(() -> runSingleTestRun("LATENCY", () -> latencyTestImpl(baselineFile)));
+	}
+
+	protected void latencyTestImpl(final String baselineFile) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final LatencyBaseline baseline = LatencyBaseline.forFile(Paths.get(baselineFile));
+		final int rounds = getLatencyRounds();
+		final int iterations = getLatencyIterations();
+		final LatencyMeter meter = createLatencyMeter(iterations, iterations);
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing latency for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final List<T> beans = new ArrayList<>(MEASURED_BEANS);
+			final List<T> twins = new ArrayList<>(MEASURED_BEANS);
+			final int mask = MEASURED_BEANS - 1;
+			final Map<String, MeasuredOperation> operations = new LinkedHashMap<>();
+			if (declaresEquals()) {
+				operations.put("equals", n -> beans.get(n & mask).equals(twins.get(n & mask)) ? 1 : 0);
+			}
+			if (declaresHashCode()) {
+				operations.put("hashCode", n -> beans.get(n & mask).hashCode());
+			}
+			if (getBeanModel().declaresToString()) {
+				operations.put("toString", n -> beans.get(n & mask).toString().length());
+			}
+			final Map<String, double[]> nanosPerCall = new LinkedHashMap<>();
+			for (int round = 0; round < rounds; round++) {
+				beans.clear();
+				twins.clear();
+				createBeansAndTwins(constructorParameters, beans, twins);
+				for (final Map.Entry<String, MeasuredOperation> operation : operations.entrySet()) {
+					final double[] roundNanos = measureLatency(meter, operation.getValue());
+					final double[] allNanos = nanosPerCall.computeIfAbsent(operation.getKey(), key -> new double[rounds * iterations]);
+					System.arraycopy(roundNanos, 0, allNanos, round * iterations, iterations);
+				}
+			}
+			final StringBuilder report = new StringBuilder();
+			final StringBuilder regressions = new StringBuilder();
+			final StringBuilder missing = new StringBuilder();
+			for (final Map.Entry<String, double[]> entry : nanosPerCall.entrySet()) {
+				final String key = LatencyBaseline.key(getBeanClass(), i == 0 ? entry.getKey() : entry.getKey() + "@" + i);
+				final double median = LatencyMeter.percentile(entry.getValue(), 0.5);
+				final double p99 = LatencyMeter.percentile(entry.getValue(), 0.99);
+				final Double baselineNanos = baseline.getBaselineNanos(key);
+				baseline.record(key, median);
+				String result = String.format(Locale.ROOT, "%s: median %.1f ns, p99 %.1f ns", entry.getKey(), median, p99);
+				if (baselineNanos == null) {
+					result += ", no baseline";
+					if (!baseline.isUpdate()) {
+						missing.append(String.format("%n  ")).append(key);
+					}
+				} else {
+					result += String.format(Locale.ROOT, ", baseline %.1f ns (%+.0f%%)", baselineNanos, (median / baselineNanos - 1) * 100);
+					if (median > baselineNanos * (1 + getLatencyTolerance())) {
+						regressions.append(String.format("%n  ")).append(result);
+					}
+				}
+				report.append(String.format("%n  ")).append(result);
+			}
+			LOG.info("Latency of {}:{}", getBeanClass().getName(), report);
+			if (regressions.length() > 0) {
+				Assert.fail("Methods of " + getBeanClass().getName() + " slower than their baseline by more than " + getLatencyTolerance() * 100 + "%:" + regressions);
+			}
+			if (missing.length() > 0) {
+				Assert.fail("No baseline latency in " + baselineFile + ", run with updateLatencyBaseline=true to record it:" + missing);
+			}
+		}
+	}
+
+	private static double[] measureLatency(final LatencyMeter meter, final MeasuredOperation operation) throws InvocationTargetException {
+		try {
+			return meter.getNanosPerCall(operation);
+		} catch (final RuntimeException | Error e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Create the meter of the latency and complexity checks.
+	 */
+	LatencyMeter createLatencyMeter(final int warmUpIterations, final int iterations) {
+		return new LatencyMeter(warmUpIterations, iterations);
+	}
+
+	/**
+	 * Fill {@value #MEASURED_BEANS} beans and an equal twin of each.
+	 */
+	private void createBeansAndTwins(final ConstructorParameters constructorParameters, final List<T> beans, final List<T> twins) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		for (int i = 0; i < MEASURED_BEANS; i++) {
+			final T bean = createInstance(constructorParameters);
+			final Map<String, Object> values = fillBean(bean, constructorParameters.getPropertyNames());
+			final T twin = createInstance(constructorParameters);
+			for (final Map.Entry<String, Object> e : values.entrySet()) {
+				fillProperty(twin, e.getKey(), e.getValue());
+			}
+			beans.add(bean);
+			twins.add(twin);
+		}
+	}
+
+	/**
+	 * Test how the latency of equals, hashCode and toString grows with the
+	 * size of collection, map and array properties. Beans are filled with
+	 * values of growing size, see {@link #getComplexityMaxSize()}, and the
+	 * growth exponent of the median latency is fitted for each constructor
+	 * that leaves collection, map or array properties to fill. The test is
+	 * skipped unless the maximum size is set or if no constructor does. It
+	 * fails for methods growing faster than
+	 * {@link #getMaxComplexityExponent()}, e.g. quadratic equals
+	 * implementations.
+	 */
+	@Test
+	public void complexityTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		final int maxSize = getComplexityMaxSize();
+		if (maxSize <= 0) {
+			LOG.debug("Skipping complexity test as no maximum size is configured.");
+			RuntimeIgnore.ignore();
+		}
+		runTest(() -> runSingleTestRun("COMPLEXITY", () -> complexityTestImpl(maxSize)));
+	}
+
+	protected void complexityTestImpl(final int maxSize) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		if (maxSize < COMPLEXITY_MIN_SIZE * COMPLEXITY_SIZE_FACTOR) {
+			throw new IllegalArgumentException("Maximum size for complexity test must be at least " + COMPLEXITY_MIN_SIZE * COMPLEXITY_SIZE_FACTOR + ": " + maxSize);
+		}
+		final List<Integer> sizes = new ArrayList<>();
+		for (long size = COMPLEXITY_MIN_SIZE; size <= maxSize; size *= COMPLEXITY_SIZE_FACTOR) {
+			sizes.add((int) size);
+		}
+		final LatencyMeter meter = createLatencyMeter(COMPLEXITY_ITERATIONS, COMPLEXITY_ITERATIONS);
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		boolean measured = false;
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			final Set<String> containerPropertyNames = getContainerPropertyNames(constructorParameters);
+			if (containerPropertyNames.isEmpty()) {
+				continue;
+			}
+			measured = true;
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing complexity of properties {} for constructor with parameter types {}", containerPropertyNames, Arrays.toString(constructorParameters.getTypes()));
+			}
+			final List<T> beans = new ArrayList<>(COMPLEXITY_BEANS);
+			final List<T> twins = new ArrayList<>(COMPLEXITY_BEANS);
+			final int mask = COMPLEXITY_BEANS - 1;
+			final Map<String, MeasuredOperation> operations = new LinkedHashMap<>();
+			if (declaresEquals()) {
+				operations.put("equals", n -> beans.get(n & mask).equals(twins.get(n & mask)) ? 1 : 0);
+			}
+			if (declaresHashCode()) {
+				operations.put("hashCode", n -> beans.get(n & mask).hashCode());
+			}
+			if (getBeanModel().declaresToString()) {
+				operations.put("toString", n -> beans.get(n & mask).toString().length());
+			}
+			final Map<String, double[]> medianNanos = new LinkedHashMap<>();
+			for (int sizeIdx = 0; sizeIdx < sizes.size(); sizeIdx++) {
+				beans.clear();
+				twins.clear();
+				createScaledBeansAndTwins(constructorParameters, containerPropertyNames, sizes.get(sizeIdx), beans, twins);
+				for (final Map.Entry<String, MeasuredOperation> operation : operations.entrySet()) {
+					final double median = LatencyMeter.percentile(measureLatency(meter, operation.getValue()), 0.5);
+					medianNanos.computeIfAbsent(operation.getKey(), key -> new double[sizes.size()])[sizeIdx] = median;
+				}
+			}
+			final double[] sizeValues = new double[sizes.size()];
+			for (int sizeIdx = 0; sizeIdx < sizes.size(); sizeIdx++) {
+				sizeValues[sizeIdx] = sizes.get(sizeIdx);
+			}
+			final StringBuilder report = new StringBuilder();
+			final StringBuilder exceeded = new StringBuilder();
+			for (final Map.Entry<String, double[]> entry : medianNanos.entrySet()) {
+				final double exponent = LatencyMeter.fitExponent(sizeValues, entry.getValue());
+				final StringBuilder result = new StringBuilder(String.format(Locale.ROOT, "%s: exponent %.2f (", entry.getKey(), exponent));
+				for (int sizeIdx = 0; sizeIdx < sizes.size(); sizeIdx++) {
+					result.append(sizeIdx > 0 ? ", " : "").append(String.format(Locale.ROOT, "%d: %.1f ns", sizes.get(sizeIdx), entry.getValue()[sizeIdx]));
+				}
+				result.append(')');
+				report.append(String.format("%n  ")).append(result);
+				if (exponent > getMaxComplexityExponent()) {
+					exceeded.append(String.format("%n  ")).append(result);
+				}
+			}
+			LOG.info("Complexity of {}:{}", getBeanClass().getName(), report);
+			if (exceeded.length() > 0) {
+				Assert.fail("Methods of " + getBeanClass().getName() + " growing faster than size^" + getMaxComplexityExponent() + " with the size of " + containerPropertyNames + ":" + exceeded);
+			}
+		}
+		if (!measured) {
+			LOG.info("Skipping complexity test as {} has no collection, map or array properties.", getBeanClass().getName());
+			RuntimeIgnore.ignore();
+		}
+	}
+
+	/**
+	 * Get the names of writable array, collection and map properties that
+	 * are not set by the constructor.
+	 */
+	private Set<String> getContainerPropertyNames(final ConstructorParameters constructorParameters) {
+		final Set<String> propsToOmit = toSet(constructorParameters.getPropertyNames());
+		final Set<String> containerPropertyNames = new TreeSet<>();
+		for (final String propertyName : getBeanPropertyNames()) {
+			if (propsToOmit != null && propsToOmit.contains(propertyName)) {
+				continue;
+			}
+			final BeanProperty property = getBeanModel().getProperty(propertyName);
+			if (property != null && property.getWriter() != null && isContainerType(property.getType())) {
+				containerPropertyNames.add(propertyName);
+			}
+		}
+		return containerPropertyNames;
+	}
+
+	private static boolean isContainerType(final Class<?> type) {
+		return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Fill {@value #COMPLEXITY_BEANS} beans and an equal twin of each. The
+	 * given array, collection and map properties get values of the given
+	 * size. Twins get equal, but not identical values for these properties,
+	 * so equals can not take shortcuts.
+	 */
+	private void createScaledBeansAndTwins(final ConstructorParameters constructorParameters, final Set<String> containerPropertyNames, final int size, final List<T> beans, final List<T> twins) throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		for (int i = 0; i < COMPLEXITY_BEANS; i++) {
+			final T bean = createInstance(constructorParameters);
+			final Map<String, Object> values = fillBean(bean, constructorParameters.getPropertyNames());
+			final T twin = createInstance(constructorParameters);
+			for (final Map.Entry<String, Object> e : values.entrySet()) {
+				if (containerPropertyNames.contains(e.getKey())) {
+					final Type type = getBeanModel().getProperty(e.getKey()).getGenericType();
+					final long seed = nextLong();
+					fillProperty(bean, e.getKey(), createValue(type, size, seed));
+					fillProperty(twin, e.getKey(), createValue(type, size, seed));
+				} else {
+					fillProperty(twin, e.getKey(), e.getValue());
+				}
+			}
+			beans.add(bean);
+			twins.add(twin);
+		}
+	}
+}
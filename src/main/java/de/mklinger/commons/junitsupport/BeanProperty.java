@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * Immutable descriptor of a single bean property with its resolved field,
+ * getter and setter.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class BeanProperty {
+	private static final String SETTER_PREFIX = "set";
+	private static final String GETTER_PREFIX = "get";
+	private static final String BOOLEAN_GETTER_PREFIX = "is";
+
+	private final String name;
+	private final Class<?> type;
+	private final Type genericType;
+	private final Field field;
+	private final Method getter;
+	private final Method setter;
+	private final Object defaultValue;
+	private final PropertyAccessors.Reader reader;
+	private final PropertyAccessors.Writer writer;
+
+	private BeanProperty(final String name, final Class<?> type, final Type genericType, final Field field, final Method getter, final Method setter) {
+		this.name = name;
+		this.type = type;
+		this.genericType = genericType;
+		this.field = field;
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValueFor(type);
+		this.reader = getter != null ? PropertyAccessors.reader(getter) : PropertyAccessors.reader(field);
+		if (setter != null) {
+			this.writer = PropertyAccessors.writer(setter);
+		} else if (field != null) {
+			this.writer = PropertyAccessors.writer(field);
+		} else {
+			this.writer = null;
+		}
+	}
+
+	/**
+	 * Resolve a property of an indexed bean class. The property type is taken
+	 * from the field, if any, and from the getter otherwise.
+	 * @return The property or <code>null</code> if there is neither a field nor
+	 *         a getter
+	 */
+	static BeanProperty resolve(final MemberIndex index, final String name) {
+		final Field field = index.getField(name);
+		final Method getter = findGetter(index, name);
+		final Class<?> type;
+		final Type genericType;
+		if (field != null) {
+			type = field.getType();
+			genericType = field.getGenericType();
+		} else if (getter != null) {
+			type = getter.getReturnType();
+			genericType = getter.getGenericReturnType();
+		} else {
+			return null;
+		}
+		final Method setter = index.getPublicMethod(SETTER_PREFIX + capitalize(name), type);
+		return new BeanProperty(name, type, genericType, field, getter, setter);
+	}
+
+	static Method findGetter(final MemberIndex index, final String propertyName) {
+		final String upperName = capitalize(propertyName);
+		final Method getter = index.getPublicMethod(GETTER_PREFIX + upperName);
+		if (getter != null) {
+			return getter;
+		}
+		return index.getPublicMethod(BOOLEAN_GETTER_PREFIX + upperName);
+	}
+
+	static String capitalize(final String name) {
+		if (name.length() <= 1) {
+			return name.toUpperCase();
+		}
+		return name.substring(0, 1).toUpperCase() + name.substring(1);
+	}
+
+	static String decapitalize(final String name) {
+		if (name.length() <= 1) {
+			return name.toLowerCase();
+		}
+		return name.substring(0, 1).toLowerCase() + name.substring(1);
+	}
+
+	private static Object defaultValueFor(final Class<?> type) {
+		if (type == Long.TYPE) {
+			return 0L;
+		} else if (type == Integer.TYPE) {
+			return 0;
+		} else if (type == Character.TYPE) {
+			return (char) 0;
+		} else if (type == Short.TYPE) {
+			return (short) 0;
+		} else if (type == Byte.TYPE) {
+			return (byte) 0;
+		} else if (type == Float.TYPE) {
+			return 0.0f;
+		} else if (type == Double.TYPE) {
+			return 0.0d;
+		} else if (type == Boolean.TYPE) {
+			return false;
+		}
+		return null;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	Class<?> getType() {
+		return type;
+	}
+
+	Type getGenericType() {
+		return genericType;
+	}
+
+	/** The field or <code>null</code> if the property is getter-only. */
+	Field getField() {
+		return field;
+	}
+
+	/** The public getter or <code>null</code>. */
+	Method getGetter() {
+		return getter;
+	}
+
+	/** The public setter or <code>null</code>. */
+	Method getSetter() {
+		return setter;
+	}
+
+	/** The value of an uninitialized field of the property type. */
+	Object getDefaultValue() {
+		return defaultValue;
+	}
+
+	/** Read access using the getter if possible, the field otherwise. */
+	PropertyAccessors.Reader getReader() {
+		return reader;
+	}
+
+	/**
+	 * Write access using the setter if possible, the field otherwise.
+	 * @return The writer or <code>null</code> if there is neither a setter nor
+	 *         a field
+	 */
+	PropertyAccessors.Writer getWriter() {
+		return writer;
+	}
+}
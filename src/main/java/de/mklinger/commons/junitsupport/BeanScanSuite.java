@@ -0,0 +1,434 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Pattern;
+
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.mklinger.commons.junitsupport.DelegateClassTestBase.TestMethod;
+
+/**
+ * Suite that finds beans, exceptions and delegate classes on the class path
+ * and tests them without a test class per tested class. All found classes and
+ * their test methods run concurrently on a work-stealing
+ * {@link ForkJoinPool}.
+ * <p>
+ * Usage:
+ * <pre>
+ * &#64;RunWith(BeanScanSuite.class)
+ * &#64;BeanScanSuite.Scan(packages = "com.example.model", exclude = ".*Builder")
+ * public class ModelTest {
+ * }
+ * </pre>
+ * A class is tested as
+ * <ul>
+ * <li>exception, see {@link ExceptionTestBase}, if it is a concrete
+ * {@link Throwable},</li>
+ * <li>delegate class, see {@link DelegateClassTestBase}, if it implements an
+ * interface and has a public constructor taking only an instance of that
+ * interface. The abstract methods of the interface are tested.</li>
+ * <li>bean, see {@link BeanTestBase}, if it has a public no-arg constructor,
+ * at least one property with setter and getter and the values of all
+ * properties, including fields without setter, can be created by the
+ * default {@link TestValueFactory}.</li>
+ * </ul>
+ * Only public, concrete, top-level or static member classes are tested.
+ * Test classes and classes annotated with {@link RunWith} are skipped. Test
+ * methods are reported with the tested class as class name. If
+ * <code>shardCount</code> is set in the {@link TestRunProfile}, only the
+ * tested classes of the configured shard are run, see {@link TestShards}.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+public class BeanScanSuite extends ParentRunner<Runner> {
+	private static final Logger LOG = LoggerFactory.getLogger(BeanScanSuite.class);
+
+	/** Configures the classes tested by a {@link BeanScanSuite}. */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Inherited
+	public @interface Scan {
+		/**
+		 * The packages to scan, including subpackages. Default is the package
+		 * of the suite class.
+		 */
+		String[] packages() default {};
+
+		/** Regular expression the fully qualified class name must match. */
+		String include() default ".*";
+
+		/** Regular expression for fully qualified class names to skip. */
+		String exclude() default "";
+
+		/** Test bean classes? */
+		boolean beans() default true;
+
+		/** Test exception classes? */
+		boolean exceptions() default true;
+
+		/** Test delegate classes? */
+		boolean delegates() default true;
+
+		/**
+		 * The number of threads running tests. Default is the number of
+		 * available processors.
+		 */
+		int parallelism() default 0;
+	}
+
+	private final List<Runner> runners;
+	private final int parallelism;
+
+	/**
+	 * Create a new suite for a class annotated with {@link Scan}.
+	 * @param suiteClass The suite class
+	 */
+	public BeanScanSuite(final Class<?> suiteClass) throws InitializationError {
+		super(suiteClass);
+		final Scan scan = suiteClass.getAnnotation(Scan.class);
+		if (scan == null) {
+			throw new InitializationError("Class '" + suiteClass.getName() + "' must be annotated with @" + Scan.class.getName());
+		}
+		this.parallelism = scan.parallelism() > 0 ? scan.parallelism() : Runtime.getRuntime().availableProcessors();
+		this.runners = Collections.unmodifiableList(createRunners(suiteClass, scan));
+		if (TestRunProfile.get().getShardCount() > 1) {
+			try {
+				filter(TestShards.profileFilter());
+			} catch (final NoTestsRemainException e) {
+				// nothing to run in this shard
+			} catch (final IOException e) {
+				throw new InitializationError(e);
+			}
+		}
+	}
+
+	private static List<Runner> createRunners(final Class<?> suiteClass, final Scan scan) throws InitializationError {
+		final String[] packages = scan.packages().length == 0 ? new String[] { suiteClass.getPackage().getName() } : scan.packages();
+		final Pattern include = Pattern.compile(scan.include());
+		final Pattern exclude = scan.exclude().isEmpty() ? null : Pattern.compile(scan.exclude());
+		final ClassLoader classLoader = suiteClass.getClassLoader();
+
+		final Set<Class<?>> classes = new LinkedHashSet<>();
+		for (final String packageName : packages) {
+			try {
+				classes.addAll(ClassScanner.scan(classLoader, packageName));
+			} catch (final IOException e) {
+				throw new InitializationError(e);
+			}
+		}
+
+		final TestValueFactory testValueFactory = new TestValueFactory();
+		final List<Runner> runners = new ArrayList<>();
+		int beans = 0;
+		int exceptions = 0;
+		int delegates = 0;
+		for (final Class<?> clazz : classes) {
+			if (clazz == suiteClass || !isCandidate(clazz)
+					|| !include.matcher(clazz.getName()).matches()
+					|| exclude != null && exclude.matcher(clazz.getName()).matches()) {
+				continue;
+			}
+			if (Throwable.class.isAssignableFrom(clazz)) {
+				if (scan.exceptions()) {
+					runners.add(new CheckRunner(ExceptionTest.class, clazz, () -> newExceptionTest(clazz)));
+					exceptions++;
+				}
+				continue;
+			}
+			final Class<?> delegateType = findDelegateType(clazz);
+			if (delegateType != null) {
+				if (scan.delegates()) {
+					final TestMethod[] testMethods = abstractTestMethodsFor(delegateType);
+					runners.add(new CheckRunner(DelegateTest.class, clazz, () -> new DelegateTest(delegateType, clazz, testMethods)));
+					delegates++;
+				}
+				continue;
+			}
+			if (scan.beans() && isBean(clazz, testValueFactory)) {
+				runners.add(new CheckRunner(BeanTest.class, clazz, () -> newBeanTest(clazz)));
+				beans++;
+			}
+		}
+		LOG.info("Found {} beans, {} exceptions and {} delegate classes in {} scanned classes", beans, exceptions, delegates, classes.size());
+		return runners;
+	}
+
+	private static boolean isCandidate(final Class<?> clazz) {
+		final int modifiers = clazz.getModifiers();
+		return Modifier.isPublic(modifiers)
+				&& !Modifier.isAbstract(modifiers)
+				&& !clazz.isInterface()
+				&& !clazz.isEnum()
+				&& !clazz.isSynthetic()
+				&& (clazz.getEnclosingClass() == null || Modifier.isStatic(modifiers))
+				&& !isTestClass(clazz);
+	}
+
+	private static boolean isTestClass(final Class<?> clazz) {
+		return BeanTestBase.class.isAssignableFrom(clazz)
+				|| ExceptionTestBase.class.isAssignableFrom(clazz)
+				|| DelegateClassTestBase.class.isAssignableFrom(clazz)
+				|| clazz.isAnnotationPresent(RunWith.class);
+	}
+
+	/**
+	 * Find the interface of a delegate class.
+	 * @return The interface taken by a public single argument constructor and
+	 *         implemented by the given class or <code>null</code>
+	 */
+	private static Class<?> findDelegateType(final Class<?> clazz) {
+		for (final Constructor<?> constructor : clazz.getConstructors()) {
+			final Class<?>[] parameterTypes = constructor.getParameterTypes();
+			if (parameterTypes.length == 1
+					&& parameterTypes[0].isInterface()
+					&& parameterTypes[0].isAssignableFrom(clazz)
+					&& abstractTestMethodsFor(parameterTypes[0]).length > 0) {
+				return parameterTypes[0];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the abstract methods of an interface. Default methods need not be
+	 * delegated and are not tested.
+	 */
+	private static TestMethod[] abstractTestMethodsFor(final Class<?> delegateType) {
+		final List<TestMethod> testMethods = new ArrayList<>();
+		for (final Method method : delegateType.getMethods()) {
+			if (Modifier.isAbstract(method.getModifiers())) {
+				testMethods.add(new TestMethod(method.getName(), method.getReturnType(), method.getParameterTypes(), null));
+			}
+		}
+		return testMethods.toArray(new TestMethod[0]);
+	}
+
+	private static boolean isBean(final Class<?> clazz, final TestValueFactory testValueFactory) {
+		try {
+			clazz.getConstructor();
+		} catch (final NoSuchMethodException e) {
+			return false;
+		}
+		final BeanModel<?> beanModel = BeanModel.of(clazz);
+		if (beanModel.getSetterPropertyNames().isEmpty()) {
+			return false;
+		}
+		// all properties filled by the bean checks, see BeanTestBase#getBeanPropertyNames()
+		final Set<String> propertyNames = new LinkedHashSet<>();
+		for (final Field field : beanModel.getFields()) {
+			if (BeanTestBase.isDefaultBeanFieldCandidate(field)) {
+				propertyNames.add(field.getName());
+			}
+		}
+		propertyNames.addAll(beanModel.getSetterPropertyNames());
+		for (final String propertyName : propertyNames) {
+			final BeanProperty property = beanModel.getProperty(propertyName);
+			if (property == null || property.getWriter() == null) {
+				LOG.info("Skipping bean {}: No field or setter for property {}", clazz.getName(), propertyName);
+				return false;
+			}
+			try {
+				testValueFactory.createValue(property.getGenericType());
+			} catch (final RuntimeException e) {
+				LOG.info("Skipping bean {}: Unsupported type of property {}: {}", clazz.getName(), propertyName, property.getGenericType().getTypeName());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static <T> BeanTest<T> newBeanTest(final Class<T> beanClass) {
+		return new BeanTest<>(beanClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends Throwable> ExceptionTest<T> newExceptionTest(final Class<?> exceptionClass) {
+		return new ExceptionTest<>((Class<T>) exceptionClass);
+	}
+
+	@Override
+	protected List<Runner> getChildren() {
+		return runners;
+	}
+
+	@Override
+	protected Description describeChild(final Runner child) {
+		return child.getDescription();
+	}
+
+	@Override
+	protected void runChild(final Runner child, final RunNotifier notifier) {
+		child.run(notifier);
+	}
+
+	@Override
+	public void run(final RunNotifier notifier) {
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			setScheduler(new ForkJoinScheduler(pool));
+			for (final Runner runner : runners) {
+				((ParentRunner<?>) runner).setScheduler(new ForkJoinScheduler(pool));
+			}
+			super.run(notifier);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * JUnit only runs public test classes with at most one public constructor,
+	 * so the test base classes are run through these subclasses.
+	 */
+
+	/** Test of a found bean class. */
+	public static final class BeanTest<T> extends BeanTestBase<T> {
+		private final Class<T> beanClass;
+
+		BeanTest(final Class<T> beanClass) {
+			super(beanClass);
+			this.beanClass = beanClass;
+		}
+
+		@Override
+		protected String getReplayPropertyName() {
+			return beanClass.getName() + ".replay";
+		}
+	}
+
+	/** Test of a found exception class. */
+	public static final class ExceptionTest<T extends Throwable> extends ExceptionTestBase<T> {
+		ExceptionTest(final Class<T> exceptionClass) {
+			super(exceptionClass);
+		}
+	}
+
+	/** Test of a found delegate class. */
+	public static final class DelegateTest extends DelegateClassTestBase {
+		DelegateTest(final Class<?> delegateType, final Class<?> classUnderTest, final TestMethod[] testMethods) {
+			super(delegateType, classUnderTest, testMethods);
+		}
+	}
+
+	/**
+	 * Runs the test methods of a test class against a single found class.
+	 */
+	private static final class CheckRunner extends BlockJUnit4ClassRunner {
+		private final Class<?> testedClass;
+		private final Callable<Object> testFactory;
+		private final ConcurrentMap<FrameworkMethod, Description> descriptions = new ConcurrentHashMap<>();
+
+		CheckRunner(final Class<?> testClass, final Class<?> testedClass, final Callable<Object> testFactory) throws InitializationError {
+			super(testClass);
+			this.testedClass = testedClass;
+			this.testFactory = testFactory;
+		}
+
+		@Override
+		protected void validateConstructor(final List<Throwable> errors) {
+			// tests are not created by their constructor
+		}
+
+		@Override
+		protected Object createTest() throws Exception {
+			return testFactory.call();
+		}
+
+		@Override
+		protected String getName() {
+			return testedClass.getName();
+		}
+
+		@Override
+		protected Description describeChild(final FrameworkMethod method) {
+			Description description = descriptions.get(method);
+			if (description == null) {
+				description = Description.createTestDescription(testedClass.getName(), method.getName(), method.getAnnotations());
+				final Description existing = descriptions.putIfAbsent(method, description);
+				if (existing != null) {
+					description = existing;
+				}
+			}
+			return description;
+		}
+
+	}
+
+	/**
+	 * Forks scheduled children into a shared pool and joins them when all
+	 * children are scheduled. Joining from a worker thread runs other pending
+	 * tasks in the meantime.
+	 */
+	private static final class ForkJoinScheduler implements RunnerScheduler {
+		private final ForkJoinPool pool;
+		private final Queue<ForkJoinTask<?>> tasks = new ConcurrentLinkedQueue<>();
+
+		ForkJoinScheduler(final ForkJoinPool pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public void schedule(final Runnable childStatement) {
+			final ForkJoinTask<?> task = ForkJoinTask.adapt(childStatement);
+			tasks.add(task);
+			if (ForkJoinTask.getPool() == pool) {
+				task.fork();
+			} else {
+				pool.execute(task);
+			}
+		}
+
+		@Override
+		public void finished() {
+			ForkJoinTask<?> task;
+			while ((task = tasks.poll()) != null) {
+				task.join();
+			}
+		}
+	}
+}
@@ -18,30 +18,53 @@ package de.mklinger.commons.junitsupport;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.ComparisonFailure;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.internal.AssumptionViolatedException;
 import org.junit.internal.ExactComparisonCriteria;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Generic bean test.
+ * <p>
+ * The test methods of one instance may be executed concurrently, e.g. with
+ * surefire <code>parallel=methods</code>. Each test method draws its values
+ * from its own stream derived from the seed, and constructor property values
+ * are cached per test run and thread.
+ * </p>
+ * <p>
+ * The number of runs given to the constructor can be overridden, scaled or
+ * capped suite-wide, see {@link TestRunProfile}.
+ * </p>
  * @param <T> The bean type
  * @author Marc Klinger - mklinger[at]mklinger[dot]de
  */
@@ -52,15 +75,19 @@ public class BeanTestBase<T> extends TestValueFactory {
 
 	private static final Logger LOG = LoggerFactory.getLogger(BeanTestBase.class);
 
-	private static final String SETTER_PREFIX = "set";
 	private static final float DELTA = 0.0000000000001f;
 	private static final int DEFAULT_TEST_RUNS = 20;
 	private static final boolean DEFAULT_TREAT_IGNORE_AS_SUCCESS = true;
 
 	private final Class<T> beanClass;
+	private final BeanModel<T> beanModel;
 	private final boolean treatIgnoreAsSuccess;
 	private final int testRuns;
-	private Map<Class<?>[], Object[]> allConstructorPropertyValues;
+	private final ThreadLocal<Map<List<Class<?>>, Object[]>> allConstructorPropertyValues = ThreadLocal.withInitial(HashMap::new);
+	private final ThreadLocal<TestRunContext> testRunContext = new ThreadLocal<>();
+	private final ConcurrentMap<String, SizePolicy> propertySizePolicies = new ConcurrentHashMap<>();
+	private volatile Collection<String> beanPropertyNames;
+	private volatile Optional<PropertyDomain> propertyDomain;
 
 	/**
 	 * Constructor parameter descriptor.
@@ -130,7 +157,8 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	public BeanTestBase(final Class<T> beanClass, final int testRuns, final boolean treatIgnoreAsSuccess) {
 		this.beanClass = beanClass;
-		this.testRuns = testRuns;
+		this.beanModel = BeanModel.of(beanClass);
+		this.testRuns = TestRunProfile.get().getTestRuns(testRuns);
 		this.treatIgnoreAsSuccess = treatIgnoreAsSuccess;
 	}
 
@@ -159,169 +187,104 @@ public class BeanTestBase<T> extends TestValueFactory {
 		final Class<T> typeArgument = (Class<T>) ((ParameterizedType) type).getActualTypeArguments()[0];
 
 		this.beanClass = typeArgument;
-		this.testRuns = testRuns;
+		this.beanModel = BeanModel.of(typeArgument);
+		this.testRuns = TestRunProfile.get().getTestRuns(testRuns);
 		this.treatIgnoreAsSuccess = treatIgnoreAsSuccess;
 	}
 
 	/**
-	 * Get all bean property names.
+	 * Get all bean property names. The names are computed once per test
+	 * instance from the shared bean model.
 	 * @see #isBeanFieldCandidate(Field)
 	 * @return The bean property names
 	 */
 	protected Collection<String> getBeanPropertyNames() {
-		final Collection<String> beanPropertyNames = new HashSet<>();
-		final Field[] allFields = getAllFields();
-		for (final Field field : allFields) {
-			if (isBeanFieldCandidate(field)) {
-				beanPropertyNames.add(field.getName());
-			}
-		}
-		final Method[] allSetters = getAllSetters();
-		for (final Method setter : allSetters) {
-			String propertyName = setter.getName().substring(SETTER_PREFIX.length());
-			if (propertyName.length() == 1) {
-				propertyName = propertyName.toLowerCase();
-			} else {
-				propertyName = propertyName.substring(0, 1).toLowerCase() + propertyName.substring(1);
+		if (beanPropertyNames == null) {
+			final Collection<String> names = new HashSet<>();
+			for (final Field field : beanModel.getFields()) {
+				if (isBeanFieldCandidate(field)) {
+					names.add(field.getName());
+				}
 			}
-			final Method getter = getGetter(propertyName);
-			if (getter != null && !isIgnoreProperty(propertyName)) {
-				beanPropertyNames.add(propertyName);
+			for (final String propertyName : beanModel.getSetterPropertyNames()) {
+				if (!isIgnoreProperty(propertyName)) {
+					names.add(propertyName);
+				}
 			}
+			beanPropertyNames = Collections.unmodifiableCollection(names);
 		}
 		return beanPropertyNames;
 	}
 
-	/**
-	 * Get all fields for the bean class. This also includes fields from parent classes whether or not they are visible.
-	 * @return All fields
-	 */
-	private Field[] getAllFields() {
-		final List<Field> allFields = new ArrayList<>();
-		addAllFields(beanClass, allFields);
-		return allFields.toArray(new Field[allFields.size()]);
-	}
-
-	private static void addAllFields(final Class<?> clazz, final List<Field> allFields) {
-		allFields.addAll(Arrays.asList(clazz.getDeclaredFields()));
-		final Class<?> superclass = clazz.getSuperclass();
-		if (superclass != Object.class) {
-			addAllFields(superclass, allFields);
-		}
-	}
-
-	/**
-	 * Get all setter methods for the bean class. This also includes setters from parent classes whether or not they are visible.
-	 * @return All setters
-	 */
-	private Method[] getAllSetters() {
-		final List<Method> allSetters = new ArrayList<>();
-		addAllSetters(beanClass, allSetters);
-		return allSetters.toArray(new Method[allSetters.size()]);
-	}
-
-	private static void addAllSetters(final Class<?> clazz, final List<Method> allSetters) {
-		final Method[] methods = clazz.getDeclaredMethods();
-		for (final Method method : methods) {
-			if (method.getName().startsWith(SETTER_PREFIX) && method.getParameterTypes().length == 1) {
-				allSetters.add(method);
-			}
-		}
-		final Class<?> superclass = clazz.getSuperclass();
-		if (superclass != Object.class) {
-			addAllSetters(superclass, allSetters);
-		}
-	}
-
 	/**
 	 * Set a value for the given field using a setter if possible.
 	 */
 	protected Object fillProperty(final T entity, final String propertyName) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
 		final Object value;
 		try {
-			value = createValue(getPropertyGenericType(propertyName));
+			value = createPropertyValue(propertyName, getProperty(propertyName).getGenericType());
 		} catch (final UnsupportedOperationException e) {
 			throw new UnsupportedOperationException("Could not create value for property '" + propertyName + "': " + e.getMessage(), e);
 		}
 		return fillProperty(entity, propertyName, value);
 	}
 
-	private Object fillProperty(final T entity, final String propertyName, final Object value) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		final Method setter = getSetter(getPropertyType(propertyName), propertyName);
-		if (setter != null) {
-			setter.invoke(entity, value);
-		} else {
-			final Field field = getDeclaredFieldRecursive(beanClass, propertyName);
-			field.setAccessible(true);
-			field.set(entity, value);
+	Object fillProperty(final T entity, final String propertyName, final Object value) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final BeanProperty property = getProperty(propertyName);
+		if (property.getSetter() == null) {
+			beanModel.warnMissingAccessor("setter", propertyName);
+		}
+		final PropertyAccessors.Writer writer = property.getWriter();
+		if (writer == null) {
+			throw new NoSuchFieldException("No field found for property " + propertyName);
 		}
+		writer.write(entity, value);
 		return value;
 	}
 
-	private Method getSetter(final Class<?> propertyType, final String propertyName) {
-		String upperName;
-		if (propertyName.length() == 1) {
-			upperName = propertyName.toUpperCase();
-		} else {
-			upperName = propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+	/**
+	 * Create a value for the given property. In enumerated runs, the value is
+	 * taken from the current row of the property domain.
+	 */
+	private Object createPropertyValue(final String propertyName, final Type type) {
+		final TestRunContext context = testRunContext.get();
+		if (context != null && context.propertyValues != null && context.propertyValues.containsKey(propertyName)) {
+			return context.propertyValues.get(propertyName);
 		}
-		final String setterName = SETTER_PREFIX + upperName;
-		try {
-			return getMethod(beanClass, setterName, propertyType);
-		} catch (final NoSuchMethodException e) {
-			LOG.warn("No setter found for property: {}#{}", beanClass.getName(), propertyName);
-			return null;
+		final SizePolicy sizePolicy = propertySizePolicies.get(propertyName);
+		if (sizePolicy != null) {
+			return createValue(type, sizePolicy);
 		}
+		return createValue(type);
 	}
 
-	private Method getGetter(final String propertyName) {
-		String upperName;
-		if (propertyName.length() == 1) {
-			upperName = propertyName.toUpperCase();
+	/**
+	 * Set the size policy for the array, collection or map value of the given
+	 * property, including constructor parameters for the property. The policy
+	 * takes precedence over the policies of the factory and of the property
+	 * type, see {@link #setSizePolicy(Class, SizePolicy)}. Nested arrays,
+	 * collections and maps are not affected.
+	 * @param propertyName The property name
+	 * @param sizePolicy The size policy or <code>null</code> to use the usual
+	 *        policy again
+	 */
+	protected void setPropertySizePolicy(final String propertyName, final SizePolicy sizePolicy) {
+		if (sizePolicy == null) {
+			propertySizePolicies.remove(propertyName);
 		} else {
-			upperName = propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-		}
-		String getterName = "get" + upperName;
-		try {
-			return getMethod(beanClass, getterName);
-		} catch (final NoSuchMethodException e) {
-			getterName = "is" + upperName;
-			try {
-				return getMethod(beanClass, getterName);
-			} catch (final NoSuchMethodException e2) {
-				LOG.warn("No getter found for property: {}#{}", beanClass.getName(), propertyName);
-				return null;
-			}
+			propertySizePolicies.put(propertyName, sizePolicy);
 		}
 	}
 
-	private Method getMethod(final Class<?> clazz, final String name, final Class<?>... parameterTypes) throws NoSuchMethodException {
-		try {
-			return clazz.getMethod(name, parameterTypes);
-		} catch (final NoSuchMethodException e) {
-			final Class<?> superclass = clazz.getSuperclass();
-			if (superclass != null) {
-				return getMethod(superclass, name, parameterTypes);
-			}
-		}
-		throw new NoSuchMethodException(name);
-	}
-
 	/**
 	 * Get the value of the given field using a getter if possible.
 	 */
 	protected Object getFieldValue(final T entity, final String propertyName) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		Object fieldValue;
-		final Method getter = getGetter(propertyName);
-		if (getter != null) {
-			getter.setAccessible(true);
-			fieldValue = getter.invoke(entity);
-		} else {
-			final Field field = getDeclaredField(propertyName);
-			field.setAccessible(true);
-			fieldValue = field.get(entity);
+		final BeanProperty property = getProperty(propertyName);
+		if (property.getGetter() == null) {
+			beanModel.warnMissingAccessor("getter", propertyName);
 		}
-		return fieldValue;
+		return property.getReader().read(entity);
 	}
 
 	/**
@@ -351,34 +314,49 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 * @return <code>true</code> if the given field is a bean field candidate
 	 */
 	protected boolean isBeanFieldCandidate(final Field field) {
-		return ((field.getModifiers() & Modifier.STATIC) == 0 && (field.getModifiers() & Modifier.TRANSIENT) == 0) && !isIgnoreProperty(field.getName());
+		return isDefaultBeanFieldCandidate(field) && !isIgnoreProperty(field.getName());
+	}
+
+	/**
+	 * Is the given field a bean field candidate if no properties are ignored?
+	 * @return <code>true</code> if the field is neither static nor transient
+	 */
+	static boolean isDefaultBeanFieldCandidate(final Field field) {
+		return (field.getModifiers() & Modifier.STATIC) == 0 && (field.getModifiers() & Modifier.TRANSIENT) == 0;
 	}
 
 	/**
 	 * Create a bean instance using this parameter constructor.
-	 * Property values are reused on subsequent calls to this method.
+	 * Property values are reused on subsequent calls to this method within
+	 * the same test run.
 	 * @return The instance
 	 */
 	protected T createInstance(final ConstructorParameters constructorParameters) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException {
 		final Class<?>[] types = constructorParameters.getTypes();
 		final Constructor<T> constructor = beanClass.getDeclaredConstructor(types);
 		constructor.setAccessible(true);
-		if (allConstructorPropertyValues == null) {
-			allConstructorPropertyValues = new HashMap<>();
-		}
-		Object[] propertyValues = allConstructorPropertyValues.get(types);
+		final Map<List<Class<?>>, Object[]> allConstructorPropertyValues = this.allConstructorPropertyValues.get();
+		Object[] propertyValues = allConstructorPropertyValues.get(Arrays.asList(types));
 		if (propertyValues == null) {
 			final Type[] genericTypes = constructor.getGenericParameterTypes();
 			assert genericTypes.length == types.length;
 			propertyValues = new Object[genericTypes.length];
 			for (int i = 0; i < genericTypes.length; i++) {
-				propertyValues[i] = createValue(genericTypes[i]);
+				propertyValues[i] = createPropertyValue(constructorParameters.getPropertyNames()[i], genericTypes[i]);
 			}
-			allConstructorPropertyValues.put(types, propertyValues);
+			allConstructorPropertyValues.put(Arrays.asList(types), propertyValues);
 		}
 		return constructor.newInstance(propertyValues);
 	}
 
+	/**
+	 * Forget the constructor property values of the current test run, so
+	 * that the next instance gets new ones.
+	 */
+	void clearConstructorPropertyValues() {
+		allConstructorPropertyValues.get().clear();
+	}
+
 	/**
 	 * Get all constructor parameter sets.
 	 * @return The constructor parameters array
@@ -439,6 +417,11 @@ public class BeanTestBase<T> extends TestValueFactory {
 		Assert.assertEquals(message, expected, actual);
 	}
 
+	/**
+	 * Assert that both collections contain the same elements equally often,
+	 * in any order. Runs in linear time for hashable elements. The failure
+	 * message lists missing and unexpected elements.
+	 */
 	protected void assertEquals(final String message, final Collection<?> expected, final Collection<?> actual) {
 		if (expected == actual) {
 			return;
@@ -448,54 +431,21 @@ public class BeanTestBase<T> extends TestValueFactory {
 			return;
 		}
 		Assert.assertNotNull(message, actual);
-		Assert.assertEquals(message, expected.size(), actual.size());
-		Assert.assertTrue(message, actual.containsAll(expected));
-	}
-
-	private Type getPropertyGenericType(final String propertyName) {
-		try {
-			final Field field = getDeclaredField(propertyName);
-			return field.getGenericType();
-		} catch (final NoSuchFieldException e) {
-			final Method getter = getGetter(propertyName);
-			if (getter == null) {
-				throw new IllegalStateException(String.format("Property '%s' not found as field or getter", propertyName));
-			}
-			return getter.getGenericReturnType();
+		final MultisetDiff diff = MultisetDiff.of(expected, actual);
+		if (!diff.isEmpty()) {
+			Assert.fail((message == null ? "" : message + ": ") + "collections differ, " + diff);
 		}
 	}
 
-	private Class<?> getPropertyType(final String propertyName) {
-		try {
-			final Field field = getDeclaredField(propertyName);
-			return field.getType();
-		} catch (final NoSuchFieldException e) {
-			final Method getter = getGetter(propertyName);
-			if (getter == null) {
-				throw new IllegalStateException(String.format("Property '%s' not found as field org getter", propertyName));
-			}
-			return getter.getReturnType();
+	private BeanProperty getProperty(final String propertyName) {
+		final BeanProperty property = beanModel.getProperty(propertyName);
+		if (property == null) {
+			throw new IllegalStateException(String.format("Property '%s' not found as field or getter", propertyName));
 		}
+		return property;
 	}
 
-	private Field getDeclaredField(final String propertyName) throws NoSuchFieldException {
-		return getDeclaredFieldRecursive(beanClass, propertyName);
-	}
-
-	private Field getDeclaredFieldRecursive(final Class<?> startClass, final String propertyName) throws NoSuchFieldException {
-		try {
-			return startClass.getDeclaredField(propertyName);
-		} catch (final NoSuchFieldException e) {
-			final Class<?> superclass = startClass.getSuperclass();
-			if (superclass != Object.class) {
-				return getDeclaredFieldRecursive(superclass, propertyName);
-			} else {
-				throw new NoSuchFieldException("No field found for property " + propertyName);
-			}
-		}
-	}
-
-	private static Set<String> toSet(final String[] s) {
+	static Set<String> toSet(final String[] s) {
 		Set<String> set = null;
 		if (s != null && s.length > 0) {
 			set = new HashSet<>(s.length);
@@ -520,23 +470,95 @@ public class BeanTestBase<T> extends TestValueFactory {
 		return result;
 	}
 
-	private boolean declaresEquals() throws NoSuchMethodException {
-		return beanClass.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+	/**
+	 * Get the bean class to test.
+	 */
+	Class<T> getBeanClass() {
+		return beanClass;
+	}
+
+	BeanModel<T> getBeanModel() {
+		return beanModel;
 	}
 
-	private boolean declaresHashCode() throws NoSuchMethodException {
-		return beanClass.getMethod("hashCode").getDeclaringClass() != Object.class;
+	boolean declaresEquals() {
+		return beanModel.declaresEquals();
+	}
+
+	boolean declaresHashCode() {
+		return beanModel.declaresHashCode();
 	}
 
 	/**
-	 * Property test for all constructors.
+	 * Should all checks be run in a single fused pass? If enabled, each run
+	 * creates and fills a bean, its copy and its twin only once and feeds them
+	 * to all checks. Each test method still reports the result of its own
+	 * check. Overridden <code>*Impl()</code> methods are not called in this
+	 * mode. The fused pass runs once per execution of the test class, with
+	 * its first test method, see {@link #fusedChecksRule()}.
+	 * @return <code>true</code> to enable fused checks, default is
+	 *         <code>false</code>
 	 */
-	@Test
-	public void propertyTestForAllConstructors() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				propertyTestForAllConstructorsImpl();
+	protected boolean isFusedChecks() {
+		return false;
+	}
+
+	/**
+	 * Class rule sharing the results of the fused pass, if enabled, between
+	 * the test methods of one execution of the test class and dropping them
+	 * afterwards.
+	 * @see #isFusedChecks()
+	 */
+	@ClassRule
+	public static TestRule fusedChecksRule() {
+		return FusedChecks.classRule();
+	}
+
+	/**
+	 * Rule skipping checks that passed before with unchanged classes, if the
+	 * result cache is enabled, and recording the duration of checks, if a
+	 * timings file is set, see {@link TestRunProfile}. The cache is not used
+	 * while replaying a test run.
+	 */
+	@Rule
+	public TestRule checkRule() {
+		if (System.getProperty(getReplayPropertyName()) != null) {
+			return TestTimings.rule();
+		}
+		return RuleChain.outerRule(ResultCache.rule(getClass(), beanClass)).around(TestTimings.rule());
+	}
+
+	/** A single test run. */
+	@FunctionalInterface
+	interface TestRun {
+		void run() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException;
+	}
+
+	/**
+	 * Get the executor for running the test runs of a test method in
+	 * parallel, e.g. a {@link java.util.concurrent.ForkJoinPool} or, on Java
+	 * 21 and later, <code>Executors.newVirtualThreadPerTaskExecutor()</code>.
+	 * The executor is not shut down by this class.
+	 * @return The executor or <code>null</code> to run all test runs
+	 *         sequentially on the calling thread, which is the default
+	 */
+	protected Executor getTestRunExecutor() {
+		return null;
+	}
+
+	private void runTest(final BeanCheck check, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(() -> {
+			if (isFusedChecks()) {
+				rethrow(FusedChecks.getResult(this, check));
+			} else {
+				runTestRuns(check.name(), testRun);
 			}
+		});
+	}
+
+	void runTest(final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		try {
+			testRun.run();
 		} catch (final AssumptionViolatedException e) {
 			if (!treatIgnoreAsSuccess) {
 				throw e;
@@ -544,261 +566,675 @@ public class BeanTestBase<T> extends TestValueFactory {
 		}
 	}
 
-	protected void propertyTestForAllConstructorsImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+	/**
+	 * Run the given test run <code>testRuns</code> times. Each run gets its own
+	 * seed, split from the given stream of the test value factory by run
+	 * index, so that sequential and parallel execution create the same values
+	 * and any run can be recreated without the runs before it. If the replay
+	 * system property is set, only the run given there is executed.
+	 * @see #getReplayPropertyName()
+	 */
+	private void runTestRuns(final String streamName, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final String replay = System.getProperty(getReplayPropertyName());
+		if (replay != null && !replay.isEmpty()) {
+			replayTestRun(streamName, replay, testRun);
+			return;
+		}
+		final RandomSource stream = createStreamRandomSource(streamName);
+		final TestRunBudget budget = createTestRunBudget();
+		final Executor executor = getTestRunExecutor();
+		if (executor == null) {
+			for (int i = 0; budget.isStartRun(i); i++) {
+				runTestRun(createTestRunContext(streamName, stream, i, budget), budget, testRun);
+			}
+		} else {
+			runTestRunsInParallel(executor, streamName, stream, budget, testRun);
+		}
+		if (budget.hasTimeBudget()) {
+			LOG.info("{} for {}: {} runs in {} ms, {} \u00b5s per run after warm-up", streamName, beanClass.getName(), budget.getRunsDone(), budget.getElapsedMillis(), TimeUnit.NANOSECONDS.toMicros(budget.getMeanRunNanos()));
+		}
+	}
 
-		for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-			LOG.info("Testing properties for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-			final T bean = createInstance(constructorParameters);
-			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-			final Map<String, Object> propertyValues = fillBean(bean, constructorPropertyNames);
+	/**
+	 * Run the given test run once, e.g. for checks that evaluate many beans
+	 * within a single run. Enumerated property values are not used.
+	 */
+	void runSingleTestRun(final String streamName, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final String replay = System.getProperty(getReplayPropertyName());
+		if (replay != null && !replay.isEmpty()) {
+			replayTestRun(streamName, replay, testRun);
+			return;
+		}
+		final RandomSource stream = createStreamRandomSource(streamName);
+		runTestRun(new TestRunContext(streamName, 0, 1, stream.split(0).nextLong(), -1), testRun);
+	}
+
+	private TestRunBudget createTestRunBudget() {
+		final TestRunProfile profile = TestRunProfile.get();
+		final PropertyDomain domain = getPropertyDomain();
+		if (domain != null) {
+			return new TestRunBudget(profile.getTimeBudgetMillis(), 1, domain.getRowCount());
+		}
+		final long adaptiveTimeBudgetMillis = getAdaptiveTimeBudgetMillis();
+		if (adaptiveTimeBudgetMillis > 0) {
+			return new TestRunBudget(adaptiveTimeBudgetMillis, getMinTestRuns(), profile.getMaxTestRuns());
+		}
+		return new TestRunBudget(profile.getTimeBudgetMillis(), 1, testRuns);
+	}
+
+	private TestRunContext createTestRunContext(final String streamName, final RandomSource stream, final int runIndex, final TestRunBudget budget) {
+		final PropertyDomain domain = getPropertyDomain();
+		final int runCount = domain == null && getAdaptiveTimeBudgetMillis() > 0 ? -1 : budget.getMaxRuns();
+		final TestRunContext context = new TestRunContext(streamName, runIndex, runCount, stream.split(runIndex).nextLong(), -1);
+		if (domain != null) {
+			context.setDomainRow(domain, runIndex);
+		}
+		return context;
+	}
 
-			// test constructor values
-			if (allConstructorPropertyValues != null) {
-				final Object[] constructorPropertyValues = allConstructorPropertyValues.get(constructorParameters.getTypes());
-				for (int i = 0; i < constructorPropertyValues.length; i++) {
-					final Object expectedValue = constructorPropertyValues[i];
-					final String propertyName = constructorPropertyNames[i];
-					if (!isIgnoreProperty(propertyName)) {
-						final Object actualValue = getFieldValue(bean, propertyName);
-						assertEquals("Constructor property value " + propertyName, expectedValue, actualValue);
+	/**
+	 * Get the maximum size of a property value domain that is enumerated
+	 * instead of sampled at random. If all bean and constructor properties
+	 * have boolean, byte or enum types and the number of their value
+	 * combinations is at most this threshold, each check does one run per
+	 * combination. If the combinations exceed the threshold, but all pairs of
+	 * values of two properties can be covered within the threshold, each check
+	 * does one run per row of a pairwise covering array. The number of runs
+	 * passed to the constructor and adaptive mode are not used then. Values
+	 * of enumerated properties are not created by {@link #createValue(Type)}.
+	 * @return The threshold or 0 to disable enumeration. Default is the
+	 *         suite-wide setting <code>exhaustiveDomainThreshold</code>, see
+	 *         {@link TestRunProfile}.
+	 */
+	protected long getExhaustiveDomainThreshold() {
+		return TestRunProfile.get().getExhaustiveDomainThreshold();
+	}
+
+	/**
+	 * Get the enumerated property domain.
+	 * @return The domain or <code>null</code> if values are sampled at random
+	 */
+	private PropertyDomain getPropertyDomain() {
+		if (propertyDomain == null) {
+			PropertyDomain domain = null;
+			final long threshold = getExhaustiveDomainThreshold();
+			if (threshold > 0) {
+				final Map<String, Class<?>> propertyTypes = new HashMap<>();
+				for (final String propertyName : getBeanPropertyNames()) {
+					propertyTypes.put(propertyName, getProperty(propertyName).getType());
+				}
+				for (final ConstructorParameters constructorParameters : getConstructorParameters()) {
+					for (int i = 0; i < constructorParameters.getTypes().length; i++) {
+						propertyTypes.put(constructorParameters.getPropertyNames()[i], constructorParameters.getTypes()[i]);
 					}
 				}
-			}
-
-			// test property values
-			final Set<String> propsToOmit = toSet(constructorPropertyNames);
-			final Collection<String> propertyNames = getBeanPropertyNames();
-			for (final String propertyName : propertyNames) {
-				if (propsToOmit == null || !propsToOmit.contains(propertyName)) {
-					final Object expectedValue = propertyValues.get(propertyName);
-					final Object actualValue = getFieldValue(bean, propertyName);
-					assertEquals("Property value " + propertyName, expectedValue, actualValue);
+				domain = PropertyDomain.of(propertyTypes, threshold);
+				if (domain != null) {
+					LOG.info("Enumerating {} property value combinations of {} {}", domain.getRowCount(), beanClass.getName(), domain.isExhaustive() ? "exhaustively" : "pairwise");
 				}
 			}
+			propertyDomain = Optional.ofNullable(domain);
 		}
+		return propertyDomain.orElse(null);
 	}
 
 	/**
-	 * Test for copy constructor, if any, and equals.
+	 * Get the time budget for adaptive mode. In adaptive mode, each check is
+	 * run until its time budget is used up, but at least
+	 * {@link #getMinTestRuns()} times. The number of runs passed to the
+	 * constructor is not used then. Cheap beans get more runs this way, while
+	 * the time for expensive beans stays bounded.
+	 * @return The time budget per check in milliseconds or 0 to do a fixed
+	 *         number of runs. Default is the suite-wide setting
+	 *         <code>adaptiveTimeBudgetMillis</code>, see
+	 *         {@link TestRunProfile}.
 	 */
-	@Test
-	public void copyConstructorEqualsTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				copyConstructorEqualsTestImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
+	protected long getAdaptiveTimeBudgetMillis() {
+		return TestRunProfile.get().getAdaptiveTimeBudgetMillis();
+	}
+
+	/**
+	 * Get the minimum number of runs of each check in adaptive mode.
+	 * @return The minimum number of runs. Default is the suite-wide setting
+	 *         <code>minTestRuns</code>, see {@link TestRunProfile}.
+	 */
+	protected int getMinTestRuns() {
+		return TestRunProfile.get().getMinTestRuns();
+	}
+
+	private void replayTestRun(final String streamName, final String replay, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final String[] parts = replay.split(":");
+		if (parts.length < 2 || parts.length > 3) {
+			throw new IllegalArgumentException("Invalid value for system property " + getReplayPropertyName() + ": '" + replay + "'. Expected <check>[:<constructor parameters index>]:<seed>");
+		}
+		if (!parts[0].equals(streamName)) {
+			LOG.info("Skipping {} while replaying {}", streamName, replay);
+			RuntimeIgnore.ignore();
+		}
+		final int constructorParametersIndex = parts.length == 3 ? Integer.parseInt(parts[1]) : -1;
+		final String seedPart = parts[parts.length - 1];
+		final int domainRowIdx = seedPart.indexOf('@');
+		final long seed = Long.parseLong(domainRowIdx == -1 ? seedPart : seedPart.substring(0, domainRowIdx));
+		final TestRunContext context = new TestRunContext(streamName, -1, -1, seed, constructorParametersIndex);
+		if (domainRowIdx != -1) {
+			final PropertyDomain domain = getPropertyDomain();
+			if (domain == null) {
+				throw new IllegalStateException("Can not replay enumerated run " + replay + " without property domain enumeration");
 			}
+			context.setDomainRow(domain, Integer.parseInt(seedPart.substring(domainRowIdx + 1)));
 		}
+		LOG.info("Replaying {}", replay);
+		runTestRun(context, testRun);
 	}
 
-	protected void copyConstructorEqualsTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		if (declaresEquals()) {
-			final Constructor<T> copyConstructor = getCopyConstructor();
-			if (copyConstructor != null) {
-				final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-				for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-					if (LOG.isInfoEnabled()) {
-						LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+	private void runTestRunsInParallel(final Executor executor, final String streamName, final RandomSource stream, final TestRunBudget budget, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+		final AtomicInteger nextRunIndex = new AtomicInteger();
+		final int workers = Math.min(getParallelism(executor), budget.getMaxRuns());
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+		for (int i = 0; i < workers; i++) {
+			futures[i] = CompletableFuture.runAsync(() -> {
+				// no further runs are started after the first failure or when
+				// the budget is used up
+				int runIndex;
+				while (firstFailure.get() == null && budget.isStartRun(runIndex = nextRunIndex.getAndIncrement())) {
+					try {
+						runTestRun(createTestRunContext(streamName, stream, runIndex, budget), budget, testRun);
+					} catch (final Throwable e) {
+						firstFailure.compareAndSet(null, e);
 					}
-					final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-					final T bean1 = createInstance(constructorParameters);
-					fillBean(bean1, constructorPropertyNames);
-					final T bean2 = copyConstructor.newInstance(bean1);
-					Assert.assertEquals("Bean created with copy constructor is not equal to original bean", bean1, bean2);
 				}
-			} else {
-				LOG.info("Skipping copy constructor / equals (values) test as '{}' does not implement a copy constructor.", beanClass.getName());
-				// ignore this test
-				RuntimeIgnore.ignore();
+			}, executor);
+		}
+		CompletableFuture.allOf(futures).join();
+		rethrow(firstFailure.get());
+	}
+
+	private static int getParallelism(final Executor executor) {
+		if (executor instanceof ForkJoinPool) {
+			return ((ForkJoinPool) executor).getParallelism();
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	private void runTestRun(final TestRunContext context, final TestRunBudget budget, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final long start = System.nanoTime();
+		runTestRun(context, testRun);
+		budget.runDone(context.runIndex, System.nanoTime() - start);
+	}
+
+	private void runTestRun(final TestRunContext context, final TestRun testRun) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		testRunContext.set(context);
+		setThreadRandomSource(createRandomSource(context.runSeed));
+		try {
+			testRun.run();
+		} catch (final AssumptionViolatedException e) {
+			throw e;
+		} catch (final Throwable e) {
+			throw withReplayInfo(e, context);
+		} finally {
+			testRunContext.remove();
+			setThreadRandomSource(null);
+			allConstructorPropertyValues.remove();
+		}
+	}
+
+	/**
+	 * Start testing the constructor parameters with the given index in the
+	 * current test run. Values for each constructor parameters index are
+	 * created from their own seed, so that a failure can be replayed for
+	 * exactly these constructor parameters.
+	 * @param constructorParametersIndex The index in
+	 *        {@link #getConstructorParameters()}
+	 * @return <code>false</code> if the constructor parameters should be
+	 *         skipped because other constructor parameters are replayed
+	 */
+	protected boolean beginConstructorParameters(final int constructorParametersIndex) {
+		final TestRunContext context = testRunContext.get();
+		if (context == null) {
+			return true;
+		}
+		if (context.replayConstructorParametersIndex >= 0) {
+			if (constructorParametersIndex != context.replayConstructorParametersIndex) {
+				return false;
 			}
+			context.seed = context.runSeed;
 		} else {
-			LOG.info("Skipping copy constructor / equals (values) test as '{}' does not implement equals.", beanClass.getName());
-			// ignore this test
-			RuntimeIgnore.ignore();
+			context.seed = createRandomSource(context.runSeed).split(constructorParametersIndex).nextLong();
 		}
+		context.constructorParametersIndex = constructorParametersIndex;
+		setThreadRandomSource(createRandomSource(context.seed));
+		return true;
 	}
 
 	/**
-	 * Test for copy constructor, if any.
+	 * Get the name of the system property to replay a single failed test run.
+	 * The value to use is part of the assertion message of the failure.
+	 * @return The property name, default is the test class name with suffix
+	 *         <code>.replay</code>
 	 */
-	@Test
-	public void copyConstructorValuesTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				copyConstructorValuesTestImpl();
+	protected String getReplayPropertyName() {
+		return getClass().getName() + ".replay";
+	}
+
+	/**
+	 * Add the information how to replay the current test run to a failure.
+	 * Failures other than assertion errors are wrapped in an assertion error
+	 * with the original failure as cause. Comparison failures stay comparison
+	 * failures, so IDEs can still show the difference.
+	 */
+	private AssertionError withReplayInfo(final Throwable e, final TestRunContext context) {
+		final String replayInfo = getReplayInfo(context);
+		if (e instanceof ComparisonFailure) {
+			return new ReplayComparisonFailure((ComparisonFailure) e, replayInfo);
+		}
+		final StringBuilder message = new StringBuilder();
+		if (e instanceof AssertionError) {
+			if (e.getMessage() != null) {
+				message.append(e.getMessage()).append('\n');
 			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
+		} else {
+			message.append(e).append('\n');
+		}
+		message.append(replayInfo);
+		return new AssertionError(message.toString(), e);
+	}
+
+	private String getReplayInfo(final TestRunContext context) {
+		final StringBuilder message = new StringBuilder();
+		if (context.runIndex >= 0) {
+			message.append("Failed in run ").append(context.runIndex + 1);
+			if (context.runCount >= 0) {
+				message.append(" of ").append(context.runCount);
 			}
+		} else {
+			message.append("Failed in replayed run");
 		}
+		final String replay;
+		if (context.constructorParametersIndex >= 0) {
+			message.append(" with constructor parameters #").append(context.constructorParametersIndex);
+			replay = context.streamName + ":" + context.constructorParametersIndex + ":" + context.seed + getDomainRowSuffix(context);
+		} else {
+			replay = context.streamName + ":" + context.seed + getDomainRowSuffix(context);
+		}
+		message.append(". Replay with -D").append(getReplayPropertyName()).append('=').append(replay);
+		return message.toString();
 	}
 
-	protected void copyConstructorValuesTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		final Constructor<T> copyConstructor = getCopyConstructor();
-		if (copyConstructor != null) {
-			final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-			for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Testing properties for copy constructor vs. constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-				}
-				final T bean = createInstance(constructorParameters);
-				final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-				final Map<String, Object> propertyValues = fillBean(bean, constructorPropertyNames);
-				final T copiedBean = copyConstructor.newInstance(bean);
-
-				// test constructor values
-				if (allConstructorPropertyValues != null) {
-					final Object[] constructorPropertyValues = allConstructorPropertyValues.get(constructorParameters.getTypes());
-					for (int i = 0; i < constructorPropertyValues.length; i++) {
-						final Object expectedValue = constructorPropertyValues[i];
-						final String propertyName = constructorPropertyNames[i];
-						if (!isIgnoreProperty(propertyName)) {
-							final Object actualValue = getFieldValue(copiedBean, propertyName);
-							assertEquals("Constructor property value " + propertyName, expectedValue, actualValue);
+	/** Comparison failure with the replay information appended to its message. */
+	private static final class ReplayComparisonFailure extends ComparisonFailure {
+		private static final long serialVersionUID = 1L;
+
+		private final String replayInfo;
+
+		ReplayComparisonFailure(final ComparisonFailure cause, final String replayInfo) {
+			super(null, cause.getExpected(), cause.getActual());
+			this.replayInfo = replayInfo;
+			initCause(cause);
+		}
+
+		@Override
+		public String getMessage() {
+			return getCause().getMessage() + "\n" + replayInfo;
+		}
+	}
+
+	private static String getDomainRowSuffix(final TestRunContext context) {
+		return context.domainRow >= 0 ? "@" + context.domainRow : "";
+	}
+
+	/** State of the test run executed by the current thread. */
+	private static final class TestRunContext {
+		private final String streamName;
+		/** The run index or -1 for replayed runs. */
+		private final int runIndex;
+		/** The planned number of runs or -1 if not known in advance. */
+		private final int runCount;
+		private final long runSeed;
+		/** The constructor parameters index to replay or -1 for all. */
+		private final int replayConstructorParametersIndex;
+		private int constructorParametersIndex = -1;
+		private long seed;
+		/** The row of the enumerated property domain or -1. */
+		private int domainRow = -1;
+		private Map<String, Object> propertyValues;
+
+		TestRunContext(final String streamName, final int runIndex, final int runCount, final long runSeed, final int replayConstructorParametersIndex) {
+			this.streamName = streamName;
+			this.runIndex = runIndex;
+			this.runCount = runCount;
+			this.runSeed = runSeed;
+			this.replayConstructorParametersIndex = replayConstructorParametersIndex;
+			this.seed = runSeed;
+		}
+
+		void setDomainRow(final PropertyDomain domain, final int domainRow) {
+			this.domainRow = domainRow;
+			this.propertyValues = domain.getRow(domainRow);
+		}
+	}
+
+	private static void rethrow(final Throwable t) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		if (t == null) {
+			return;
+		} else if (t instanceof Error) {
+			throw (Error) t;
+		} else if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		} else if (t instanceof NoSuchMethodException) {
+			throw (NoSuchMethodException) t;
+		} else if (t instanceof InstantiationException) {
+			throw (InstantiationException) t;
+		} else if (t instanceof IllegalAccessException) {
+			throw (IllegalAccessException) t;
+		} else if (t instanceof InvocationTargetException) {
+			throw (InvocationTargetException) t;
+		} else if (t instanceof NoSuchFieldException) {
+			throw (NoSuchFieldException) t;
+		}
+		throw new IllegalStateException(t);
+	}
+
+	/**
+	 * Run all checks for all runs and all constructor parameters in a single
+	 * pass.
+	 * @return The first failure of each check, or <code>null</code> for checks
+	 *         without failure
+	 */
+	Map<BeanCheck, Throwable> runFusedChecks() {
+		final Map<BeanCheck, Throwable> results = Collections.synchronizedMap(new EnumMap<>(BeanCheck.class));
+		try {
+			runTestRuns("FUSED", () -> {
+				if (results.size() < BeanCheck.values().length) {
+					final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+					for (int i = 0; i < allConstructorParameters.length; i++) {
+						if (beginConstructorParameters(i)) {
+							runFusedChecks(allConstructorParameters[i], results);
 						}
 					}
 				}
+			});
+		} catch (final Throwable e) {
+			// bean creation failed: report for all checks still pending
+			for (final BeanCheck check : BeanCheck.values()) {
+				results.putIfAbsent(check, e);
+			}
+		}
+		return results;
+	}
 
-				// test property values
-				final Set<String> propsToOmit = toSet(constructorPropertyNames);
-				final Collection<String> propertyNames = getBeanPropertyNames();
-				for (final String propertyName : propertyNames) {
-					if (propsToOmit == null || !propsToOmit.contains(propertyName)) {
-						final Object expectedValue = propertyValues.get(propertyName);
-						final Object actualValue = getFieldValue(copiedBean, propertyName);
-						assertEquals("Property value " + propertyName, expectedValue, actualValue);
-					}
-				}
+	private void runFusedChecks(final ConstructorParameters constructorParameters, final Map<BeanCheck, Throwable> results) throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		if (LOG.isInfoEnabled()) {
+			LOG.info("Testing all checks for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+		}
+		final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+		final Constructor<T> copyConstructor = getCopyConstructor();
+
+		final T emptyBean = createInstance(constructorParameters);
+		final T bean = createInstance(constructorParameters);
+		final Map<String, Object> propertyValues = fillBean(bean, constructorPropertyNames);
+		final T twin = createInstance(constructorParameters);
+		for (final Map.Entry<String, Object> e : propertyValues.entrySet()) {
+			fillProperty(twin, e.getKey(), e.getValue());
+		}
+
+		check(results, BeanCheck.TO_STRING_EMPTY, () -> assertToString(emptyBean));
+		check(results, BeanCheck.TO_STRING_FILLED, () -> assertToString(bean));
+		check(results, BeanCheck.EQUALS_IDENTITY, () -> {
+			assumeDeclaresEquals("equals (identity)");
+			Assert.assertEquals("Same beans are not equal", bean, bean);
+		});
+		check(results, BeanCheck.EQUALS_VALUES, () -> {
+			assumeDeclaresEquals("equals (values)");
+			Assert.assertEquals("Beans with same property values are not equal", bean, twin);
+		});
+		check(results, BeanCheck.HASH_CODE, () -> {
+			assumeDeclaresHashCode();
+			Assert.assertEquals("Beans with same property values do not have same hashCode", bean.hashCode(), twin.hashCode());
+		});
+		check(results, BeanCheck.COPY_CONSTRUCTOR_EQUALS, () -> {
+			assumeDeclaresEquals("copy constructor / equals (values)");
+			assumeCopyConstructor(copyConstructor, "copy constructor / equals (values)");
+			Assert.assertEquals("Bean created with copy constructor is not equal to original bean", bean, copyConstructor.newInstance(bean));
+		});
+		check(results, BeanCheck.COPY_CONSTRUCTOR_EMPTY_EQUALS, () -> {
+			assumeDeclaresEquals("copy constructor / equals (values)");
+			assumeCopyConstructor(copyConstructor, "copy constructor / equals (values)");
+			Assert.assertEquals("Bean created with copy constructor is not equal to original bean", emptyBean, copyConstructor.newInstance(emptyBean));
+		});
+		check(results, BeanCheck.COPY_CONSTRUCTOR_VALUES, () -> {
+			assumeCopyConstructor(copyConstructor, "copy constructor");
+			assertPropertyValues(copyConstructor.newInstance(bean), constructorParameters, propertyValues);
+		});
+		check(results, BeanCheck.COPY_CONSTRUCTOR_EMPTY_VALUES, () -> {
+			assumeCopyConstructor(copyConstructor, "copy constructor");
+			assertDefaultPropertyValues(copyConstructor.newInstance(emptyBean), constructorParameters);
+		});
+		check(results, BeanCheck.PROPERTIES, () -> assertPropertyValues(bean, constructorParameters, propertyValues));
+	}
+
+	private void check(final Map<BeanCheck, Throwable> results, final BeanCheck check, final TestRun testRun) {
+		if (!results.containsKey(check)) {
+			try {
+				testRun.run();
+			} catch (final AssumptionViolatedException e) {
+				results.putIfAbsent(check, e);
+			} catch (final Throwable e) {
+				final TestRunContext context = testRunContext.get();
+				results.putIfAbsent(check, context != null ? withReplayInfo(e, context) : e);
 			}
-		} else {
-			LOG.info("Skipping copy constructor test as '{}' does not implement a copy constructor.", beanClass.getName());
+		}
+	}
+
+	void assumeDeclaresEquals(final String testName) {
+		if (!declaresEquals()) {
+			LOG.info("Skipping {} test as '{}' does not implement equals.", testName, beanClass.getName());
 			// ignore this test
 			RuntimeIgnore.ignore();
 		}
 	}
 
+	void assumeDeclaresHashCode() {
+		if (!declaresHashCode()) {
+			LOG.info("Skipping hashCode test as {} does not implement hashCode.", beanClass);
+			// ignore this test
+			RuntimeIgnore.ignore();
+		}
+	}
+
+	private void assumeCopyConstructor(final Constructor<T> copyConstructor, final String testName) {
+		if (copyConstructor == null) {
+			LOG.info("Skipping {} test as '{}' does not implement a copy constructor.", testName, beanClass.getName());
+			// ignore this test
+			RuntimeIgnore.ignore();
+		}
+	}
+
+	private void assertPropertyValues(final T bean, final ConstructorParameters constructorParameters, final Map<String, Object> propertyValues) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+
+		// test constructor values
+		final Object[] constructorPropertyValues = allConstructorPropertyValues.get().get(Arrays.asList(constructorParameters.getTypes()));
+		if (constructorPropertyValues != null) {
+			for (int i = 0; i < constructorPropertyValues.length; i++) {
+				final Object expectedValue = constructorPropertyValues[i];
+				final String propertyName = constructorPropertyNames[i];
+				if (!isIgnoreProperty(propertyName)) {
+					final Object actualValue = getFieldValue(bean, propertyName);
+					assertEquals("Constructor property value " + propertyName, expectedValue, actualValue);
+				}
+			}
+		}
+
+		// test property values
+		final Set<String> propsToOmit = toSet(constructorPropertyNames);
+		final Collection<String> propertyNames = getBeanPropertyNames();
+		for (final String propertyName : propertyNames) {
+			if (propsToOmit == null || !propsToOmit.contains(propertyName)) {
+				final Object expectedValue = propertyValues.get(propertyName);
+				final Object actualValue = getFieldValue(bean, propertyName);
+				assertEquals("Property value " + propertyName, expectedValue, actualValue);
+			}
+		}
+	}
+
+	private void assertDefaultPropertyValues(final T bean, final ConstructorParameters constructorParameters) throws IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final Set<String> propsToOmit = toSet(constructorParameters.getPropertyNames());
+		final Collection<String> propertyNames = getBeanPropertyNames();
+		for (final String propertyName : propertyNames) {
+			if (propsToOmit == null || !propsToOmit.contains(propertyName)) {
+				final Object expectedValue = getFieldDefaultValue(propertyName);
+				final Object actualValue = getFieldValue(bean, propertyName);
+				assertEquals("Property value " + propertyName, expectedValue, actualValue);
+			}
+		}
+	}
+
+	private static void assertToString(final Object bean) {
+		Assert.assertNotNull(bean.toString());
+		Assert.assertNotEquals("", bean.toString());
+	}
+
+	/**
+	 * Property test for all constructors.
+	 */
+	@Test
+	public void propertyTestForAllConstructors() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(BeanCheck.PROPERTIES, this::propertyTestForAllConstructorsImpl);
+	}
+
+	protected void propertyTestForAllConstructorsImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			LOG.info("Testing properties for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			final T bean = createInstance(constructorParameters);
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			final Map<String, Object> propertyValues = fillBean(bean, constructorPropertyNames);
+			assertPropertyValues(bean, constructorParameters, propertyValues);
+		}
+	}
+
 	/**
 	 * Test for copy constructor, if any, and equals.
 	 */
 	@Test
-	public void copyConstructorEmptyEqualsTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				copyConstructorEmptyEqualsTestImpl();
+	public void copyConstructorEqualsTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(BeanCheck.COPY_CONSTRUCTOR_EQUALS, this::copyConstructorEqualsTestImpl);
+	}
+
+	protected void copyConstructorEqualsTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		assumeDeclaresEquals("copy constructor / equals (values)");
+		final Constructor<T> copyConstructor = getCopyConstructor();
+		assumeCopyConstructor(copyConstructor, "copy constructor / equals (values)");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
 			}
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			final T bean1 = createInstance(constructorParameters);
+			fillBean(bean1, constructorPropertyNames);
+			final T bean2 = copyConstructor.newInstance(bean1);
+			Assert.assertEquals("Bean created with copy constructor is not equal to original bean", bean1, bean2);
 		}
 	}
 
-	protected void copyConstructorEmptyEqualsTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		if (declaresEquals()) {
-			final Constructor<T> copyConstructor = getCopyConstructor();
-			if (copyConstructor != null) {
-				final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-				for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-					if (LOG.isInfoEnabled()) {
-						LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-					}
-					final T bean1 = createInstance(constructorParameters);
-					final T bean2 = copyConstructor.newInstance(bean1);
-					Assert.assertEquals("Bean created with copy constructor is not equal to original bean", bean1, bean2);
-				}
-			} else {
-				LOG.info("Skipping copy constructor / equals (values) test as '{}' does not implement a copy constructor.", beanClass.getName());
-				// ignore this test
-				RuntimeIgnore.ignore();
+	/**
+	 * Test for copy constructor, if any.
+	 */
+	@Test
+	public void copyConstructorValuesTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(BeanCheck.COPY_CONSTRUCTOR_VALUES, this::copyConstructorValuesTestImpl);
+	}
+
+	protected void copyConstructorValuesTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		final Constructor<T> copyConstructor = getCopyConstructor();
+		assumeCopyConstructor(copyConstructor, "copy constructor");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} else {
-			LOG.info("Skipping copy constructor / equals (values) test as '{}' does not implement equals.", beanClass.getName());
-			// ignore this test
-			RuntimeIgnore.ignore();
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing properties for copy constructor vs. constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final T bean = createInstance(constructorParameters);
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			final Map<String, Object> propertyValues = fillBean(bean, constructorPropertyNames);
+			final T copiedBean = copyConstructor.newInstance(bean);
+			assertPropertyValues(copiedBean, constructorParameters, propertyValues);
 		}
 	}
 
 	/**
-	 * Test for copy constructor, if any.
+	 * Test for copy constructor, if any, and equals.
 	 */
 	@Test
-	public void copyConstructorEmptyValuesTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				copyConstructorEmptyValuesTestImpl();
+	public void copyConstructorEmptyEqualsTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(BeanCheck.COPY_CONSTRUCTOR_EMPTY_EQUALS, this::copyConstructorEmptyEqualsTestImpl);
+	}
+
+	protected void copyConstructorEmptyEqualsTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		assumeDeclaresEquals("copy constructor / equals (values)");
+		final Constructor<T> copyConstructor = getCopyConstructor();
+		assumeCopyConstructor(copyConstructor, "copy constructor / equals (values)");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
 			}
+			final T bean1 = createInstance(constructorParameters);
+			final T bean2 = copyConstructor.newInstance(bean1);
+			Assert.assertEquals("Bean created with copy constructor is not equal to original bean", bean1, bean2);
 		}
 	}
 
+	/**
+	 * Test for copy constructor, if any.
+	 */
+	@Test
+	public void copyConstructorEmptyValuesTest() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
+		runTest(BeanCheck.COPY_CONSTRUCTOR_EMPTY_VALUES, this::copyConstructorEmptyValuesTestImpl);
+	}
+
 	protected void copyConstructorEmptyValuesTestImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
 		final Constructor<T> copyConstructor = getCopyConstructor();
-		if (copyConstructor != null) {
-			final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-			for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Testing properties for copy constructor vs. constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-				}
-				final T bean = createInstance(constructorParameters);
-				final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-				final T copiedBean = copyConstructor.newInstance(bean);
-
-				// test property values
-				final Set<String> propsToOmit = toSet(constructorPropertyNames);
-				final Collection<String> propertyNames = getBeanPropertyNames();
-				for (final String propertyName : propertyNames) {
-					if (propsToOmit == null || !propsToOmit.contains(propertyName)) {
-						final Object expectedValue = getFieldDefaultValue(propertyName);
-						final Object actualValue = getFieldValue(copiedBean, propertyName);
-						assertEquals("Property value " + propertyName, expectedValue, actualValue);
-					}
-				}
+		assumeCopyConstructor(copyConstructor, "copy constructor");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} else {
-			LOG.info("Skipping copy constructor test as '{}' does not implement a copy constructor.", beanClass.getName());
-			// ignore this test
-			RuntimeIgnore.ignore();
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing properties for copy constructor vs. constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final T bean = createInstance(constructorParameters);
+			final T copiedBean = copyConstructor.newInstance(bean);
+			assertDefaultPropertyValues(copiedBean, constructorParameters);
 		}
 	}
 
 	private Constructor<T> getCopyConstructor() {
-		try {
-			return beanClass.getConstructor(beanClass);
-		} catch (final NoSuchMethodException e) {
-			return null;
-		}
+		return beanModel.getCopyConstructor();
 	}
 
 	protected Object getFieldDefaultValue(final String propertyName) {
-		final Type type = getPropertyType(propertyName);
-
-		if (type == Long.TYPE) {
-			return 0L;
-		} else if (type == Integer.TYPE) {
-			return 0;
-		} else if (type == Character.TYPE) {
-			return (char) 0;
-		} else if (type == Short.TYPE) {
-			return (short) 0;
-		} else if (type == Byte.TYPE) {
-			return (byte) 0;
-		} else if (type == Float.TYPE) {
-			return 0.0f;
-		} else if (type == Double.TYPE) {
-			return 0.0d;
-		} else if (type == Boolean.TYPE) {
-			return false;
-		}
-
-		return null;
+		return getProperty(propertyName).getDefaultValue();
 	}
 
 	/**
@@ -806,26 +1242,21 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	@Test
 	public void toStringTestForAllConstructorsEmpty() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				toStringTestForAllConstructorsEmptyImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
-			}
-		}
+		runTest(BeanCheck.TO_STRING_EMPTY, this::toStringTestForAllConstructorsEmptyImpl);
 	}
 
 	protected void toStringTestForAllConstructorsEmptyImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
 		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-		for (final ConstructorParameters constructorParameters : allConstructorParameters) {
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
 			if (LOG.isInfoEnabled()) {
 				LOG.info("Testing properties for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
 			}
 			final T bean = createInstance(constructorParameters);
-			Assert.assertNotNull(bean.toString());
-			Assert.assertNotEquals("", bean.toString());
+			assertToString(bean);
 		}
 	}
 
@@ -834,28 +1265,23 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	@Test
 	public void toStringTestForAllConstructorsFilled() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				toStringTestForAllConstructorsFilledImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
-			}
-		}
+		runTest(BeanCheck.TO_STRING_FILLED, this::toStringTestForAllConstructorsFilledImpl);
 	}
 
 	protected void toStringTestForAllConstructorsFilledImpl() throws NoSuchMethodException, InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException {
 		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-		for (final ConstructorParameters constructorParameters : allConstructorParameters) {
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
+			}
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
 			if (LOG.isInfoEnabled()) {
 				LOG.info("Testing properties for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
 			}
 			final T bean = createInstance(constructorParameters);
 			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
 			fillBean(bean, constructorPropertyNames);
-			Assert.assertNotNull(bean.toString());
-			Assert.assertNotEquals("", bean.toString());
+			assertToString(bean);
 		}
 	}
 
@@ -864,33 +1290,24 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	@Test
 	public void equalsIdentityTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				equalsIdentityTestImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
-			}
-		}
+		runTest(BeanCheck.EQUALS_IDENTITY, this::equalsIdentityTestImpl);
 	}
 
 	protected void equalsIdentityTestImpl() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		if (declaresEquals()) {
-			final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-			for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Testing equals (identity) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-				}
-				final T bean = createInstance(constructorParameters);
-				final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-				fillBean(bean, constructorPropertyNames);
-				Assert.assertEquals("Same beans are not equal", bean, bean);
+		assumeDeclaresEquals("equals (identity)");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} else {
-			LOG.info(String.format("Skipping equals (identity) test as '%s' does not implement equals.", beanClass.getName()));
-			// ignore this test
-			RuntimeIgnore.ignore();
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing equals (identity) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final T bean = createInstance(constructorParameters);
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			fillBean(bean, constructorPropertyNames);
+			Assert.assertEquals("Same beans are not equal", bean, bean);
 		}
 	}
 
@@ -899,37 +1316,28 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	@Test
 	public void equalsValuesTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				equalsValuesTestImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
-			}
-		}
+		runTest(BeanCheck.EQUALS_VALUES, this::equalsValuesTestImpl);
 	}
 
 	protected void equalsValuesTestImpl() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		if (declaresEquals()) {
-			final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-			for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-				}
-				final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-				final T bean1 = createInstance(constructorParameters);
-				final Map<String, Object> values = fillBean(bean1, constructorPropertyNames);
-				final T bean2 = createInstance(constructorParameters);
-				for (final Map.Entry<String, Object> e : values.entrySet()) {
-					fillProperty(bean2, e.getKey(), e.getValue());
-				}
-				Assert.assertEquals("Beans with same property values are not equal", bean1, bean2);
+		assumeDeclaresEquals("equals (values)");
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} else {
-			LOG.info("Skipping equals (values) test as '{}' does not implement equals.", beanClass.getName());
-			// ignore this test
-			RuntimeIgnore.ignore();
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing equals (equality) for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			final T bean1 = createInstance(constructorParameters);
+			final Map<String, Object> values = fillBean(bean1, constructorPropertyNames);
+			final T bean2 = createInstance(constructorParameters);
+			for (final Map.Entry<String, Object> e : values.entrySet()) {
+				fillProperty(bean2, e.getKey(), e.getValue());
+			}
+			Assert.assertEquals("Beans with same property values are not equal", bean1, bean2);
 		}
 	}
 
@@ -938,37 +1346,30 @@ public class BeanTestBase<T> extends TestValueFactory {
 	 */
 	@Test
 	public void hashCodeTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		try {
-			for (int i = 0; i < testRuns; i++) {
-				hashCodeTestImpl();
-			}
-		} catch (final AssumptionViolatedException e) {
-			if (!treatIgnoreAsSuccess) {
-				throw e;
-			}
-		}
+		runTest(BeanCheck.HASH_CODE, this::hashCodeTestImpl);
 	}
 
 	protected void hashCodeTestImpl() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
-		if (declaresHashCode()) {
-			final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
-			for (final ConstructorParameters constructorParameters : allConstructorParameters) {
-				if (LOG.isInfoEnabled()) {
-					LOG.info("Testing hashCode for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
-				}
-				final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
-				final T bean1 = createInstance(constructorParameters);
-				final Map<String, Object> values = fillBean(bean1, constructorPropertyNames);
-				final T bean2 = createInstance(constructorParameters);
-				for (final Map.Entry<String, Object> e : values.entrySet()) {
-					fillProperty(bean2, e.getKey(), e.getValue());
-				}
-				Assert.assertEquals("Beans with same property values do not have same hashCode", bean1.hashCode(), bean2.hashCode());
+		assumeDeclaresHashCode();
+		final ConstructorParameters[] allConstructorParameters = getConstructorParameters();
+		for (int i = 0; i < allConstructorParameters.length; i++) {
+			if (!beginConstructorParameters(i)) {
+				continue;
 			}
-		} else {
-			LOG.info("Skipping hashCode test as {} does not implement hashCode.", beanClass);
-			// ignore this test
-			RuntimeIgnore.ignore();
+			final ConstructorParameters constructorParameters = allConstructorParameters[i];
+			if (LOG.isInfoEnabled()) {
+				LOG.info("Testing hashCode for constructor with parameter types {}", Arrays.toString(constructorParameters.getTypes()));
+			}
+			final String[] constructorPropertyNames = constructorParameters.getPropertyNames();
+			final T bean1 = createInstance(constructorParameters);
+			final Map<String, Object> values = fillBean(bean1, constructorPropertyNames);
+			final T bean2 = createInstance(constructorParameters);
+			for (final Map.Entry<String, Object> e : values.entrySet()) {
+				fillProperty(bean2, e.getKey(), e.getValue());
+			}
+			Assert.assertEquals("Beans with same property values do not have same hashCode", bean1.hashCode(), bean2.hashCode());
 		}
 	}
+
+
 }
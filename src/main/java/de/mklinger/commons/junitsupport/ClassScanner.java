@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the classes of a package and its subpackages in directories and jar
+ * files of a class loader. Classes are loaded without initialization.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class ClassScanner {
+	private static final Logger LOG = LoggerFactory.getLogger(ClassScanner.class);
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private ClassScanner() {
+	}
+
+	/**
+	 * Get all top-level and named member classes of the given package and its
+	 * subpackages, sorted by name. Classes that fail to link are skipped.
+	 * @param packageName The package name, or an empty string for all packages
+	 */
+	static List<Class<?>> scan(final ClassLoader classLoader, final String packageName) throws IOException {
+		final String packagePath = packageName.replace('.', '/');
+		final Set<String> classNames = new TreeSet<>();
+		final Enumeration<URL> resources = classLoader.getResources(packagePath);
+		while (resources.hasMoreElements()) {
+			final URL resource = resources.nextElement();
+			if ("file".equals(resource.getProtocol())) {
+				addDirectoryClassNames(classNames, resource, packageName);
+			} else {
+				final URLConnection connection = resource.openConnection();
+				if (connection instanceof JarURLConnection) {
+					addJarClassNames(classNames, (JarURLConnection) connection, packagePath);
+				} else {
+					LOG.warn("Unsupported class path location: {}", resource);
+				}
+			}
+		}
+
+		final List<Class<?>> classes = new ArrayList<>(classNames.size());
+		for (final String className : classNames) {
+			try {
+				classes.add(Class.forName(className, false, classLoader));
+			} catch (final ClassNotFoundException | LinkageError e) {
+				LOG.debug("Skipping class {}: {}", className, e.toString());
+			}
+		}
+		return classes;
+	}
+
+	private static void addDirectoryClassNames(final Set<String> classNames, final URL resource, final String packageName) throws IOException {
+		final Path directory;
+		try {
+			directory = Paths.get(resource.toURI());
+		} catch (final URISyntaxException e) {
+			throw new IOException("Invalid class path location: " + resource, e);
+		}
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.forEach(file -> {
+				final String relativePath = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+				addClassName(classNames, packageName.isEmpty() ? relativePath : packageName.replace('.', '/') + "/" + relativePath);
+			});
+		} catch (final UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static void addJarClassNames(final Set<String> classNames, final JarURLConnection connection, final String packagePath) throws IOException {
+		connection.setUseCaches(false);
+		try (JarFile jarFile = connection.getJarFile()) {
+			final String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+			final Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				final String entryName = entries.nextElement().getName();
+				if (entryName.startsWith(prefix)) {
+					addClassName(classNames, entryName);
+				}
+			}
+		}
+	}
+
+	private static void addClassName(final Set<String> classNames, final String path) {
+		if (!path.endsWith(CLASS_SUFFIX)) {
+			return;
+		}
+		final String className = path.substring(0, path.length() - CLASS_SUFFIX.length()).replace('/', '.');
+		if (className.endsWith("package-info") || className.endsWith("module-info") || isAnonymousOrLocal(className)) {
+			return;
+		}
+		classNames.add(className);
+	}
+
+	private static boolean isAnonymousOrLocal(final String className) {
+		// binary names of anonymous and local classes have a digit after '$'
+		int idx = className.indexOf('$');
+		while (idx != -1 && idx + 1 < className.length()) {
+			if (Character.isDigit(className.charAt(idx + 1))) {
+				return true;
+			}
+			idx = className.indexOf('$', idx + 1);
+		}
+		return false;
+	}
+}
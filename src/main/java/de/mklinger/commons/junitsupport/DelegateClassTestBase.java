@@ -26,7 +26,10 @@ import java.util.List;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
 
 /**
  * Tests a delegate class.
@@ -34,6 +37,8 @@ import org.junit.Test;
  */
 @Ignore("Not a test")
 public class DelegateClassTestBase extends TestValueFactory {
+	private static final int DEFAULT_TEST_RUNS = 1;
+
 	private final Class<?> delegateType;
 	private final Class<?> classUnderTest;
 	private final TestMethod[] testMethods;
@@ -154,16 +159,41 @@ public class DelegateClassTestBase extends TestValueFactory {
 		return instanceUnderTest;
 	}
 
+	/**
+	 * Get the number of times each delegate method is tested. The number can
+	 * be overridden, scaled or capped suite-wide, see {@link TestRunProfile}.
+	 * @return The number of runs, default is 1
+	 */
+	protected int getTestRuns() {
+		return DEFAULT_TEST_RUNS;
+	}
+
+	/**
+	 * Rule skipping the test that passed before with unchanged classes, if the
+	 * result cache is enabled, and recording its duration, if a timings file is
+	 * set, see {@link TestRunProfile}.
+	 */
+	@Rule
+	public TestRule checkRule() {
+		return RuleChain.outerRule(ResultCache.rule(getClass(), classUnderTest, delegateType)).around(TestTimings.rule());
+	}
+
 	/** Test all configured delegate methods. */
 	@Test
 	public void testDelegateMethods() throws Exception {
-		for (final TestMethod testMethod : testMethods) {
-			try {
-				testDelegateMethod(testMethod);
-			} catch (final Exception e) {
-				final String msg = "Error testing delegate method " + testMethod.name + "(" + Arrays.toString(testMethod.parameterTypes) + "): " + e.toString();
-				throw new AssertionError(msg, e);
+		final TestRunProfile profile = TestRunProfile.get();
+		final TestRunBudget budget = new TestRunBudget(profile.getTimeBudgetMillis(), 1, profile.getTestRuns(getTestRuns()));
+		for (int i = 0; budget.isStartRun(i); i++) {
+			final long start = System.nanoTime();
+			for (final TestMethod testMethod : testMethods) {
+				try {
+					testDelegateMethod(testMethod);
+				} catch (final Exception e) {
+					final String msg = "Error testing delegate method " + testMethod.name + "(" + Arrays.toString(testMethod.parameterTypes) + "): " + e.toString();
+					throw new AssertionError(msg, e);
+				}
 			}
+			budget.runDone(i, System.nanoTime() - start);
 		}
 	}
 }
@@ -21,7 +21,10 @@ import java.lang.reflect.Type;
 
 import org.junit.Assert;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
 
 /**
  * Tests an exception class.
@@ -56,6 +59,16 @@ public class ExceptionTestBase<T extends Throwable> {
 		this.exceptionClass = exceptionClass;
 	}
 
+	/**
+	 * Rule skipping checks that passed before with unchanged classes, if the
+	 * result cache is enabled, and recording the duration of checks, if a
+	 * timings file is set, see {@link TestRunProfile}.
+	 */
+	@Rule
+	public TestRule checkRule() {
+		return RuleChain.outerRule(ResultCache.rule(getClass(), exceptionClass)).around(TestTimings.rule());
+	}
+
 	/**
 	 * Tests constuctor.
 	 */
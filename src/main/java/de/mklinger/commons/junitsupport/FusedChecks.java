@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Results of fused bean checks for one execution of a test class. The first
+ * test method of an execution runs all checks in a single pass, the others
+ * pick up the result of their check. The results are dropped when the
+ * execution of the test class ends, so every execution runs the checks
+ * again.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class FusedChecks {
+	/** Name of the pseudo test method the fused pass is timed as. */
+	static final String FUSED_CHECKS_METHOD_NAME = "fusedChecks";
+
+	private static final ConcurrentMap<Class<?>, FusedChecks> EXECUTIONS = new ConcurrentHashMap<>();
+
+	private final AtomicReference<FutureTask<Map<BeanCheck, Throwable>>> task = new AtomicReference<>();
+
+	private FusedChecks() {
+	}
+
+	/**
+	 * Get a rule scoping fused results to one execution of a test class. The
+	 * rule does not create test instances; the fused pass runs lazily with
+	 * the first test method of a test class that enables fused checks.
+	 */
+	static TestRule classRule() {
+		return (base, description) -> new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				final Class<?> testClass = description.getTestClass();
+				final FusedChecks checks = new FusedChecks();
+				if (testClass == null || !BeanTestBase.class.isAssignableFrom(testClass) || EXECUTIONS.putIfAbsent(testClass, checks) != null) {
+					// not a bean test or already executing concurrently
+					base.evaluate();
+					return;
+				}
+				try {
+					base.evaluate();
+				} finally {
+					EXECUTIONS.remove(testClass, checks);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Get the result of a check for the given test, running all checks if this
+	 * has not happened yet in the current execution of the test class.
+	 * @return The first failure of the check or <code>null</code> if the check
+	 *         passed
+	 */
+	static Throwable getResult(final BeanTestBase<?> test, final BeanCheck check) {
+		final FusedChecks checks = EXECUTIONS.get(test.getClass());
+		if (checks == null) {
+			// no class rule applied, nothing to share results with
+			return test.runFusedChecks().get(check);
+		}
+		return checks.getResults(test).get(check);
+	}
+
+	private Map<BeanCheck, Throwable> getResults(final BeanTestBase<?> test) {
+		FutureTask<Map<BeanCheck, Throwable>> current = task.get();
+		if (current == null) {
+			final FutureTask<Map<BeanCheck, Throwable>> newTask = new FutureTask<>(test::runFusedChecks);
+			if (task.compareAndSet(null, newTask)) {
+				// timed as a check of its own, not as part of the first test method
+				TestTimings.runSeparately(Description.createTestDescription(test.getClass(), FUSED_CHECKS_METHOD_NAME), newTask);
+			}
+			current = task.get();
+		}
+		current.run();
+		try {
+			return current.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for fused checks", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("Error running fused checks", e.getCause());
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Quality of the hash codes of distinct objects in hash tables like
+ * {@link java.util.HashMap}. Hash codes are spread like
+ * <code>HashMap</code> does and distributed to tables with power-of-two
+ * sizes from {@value #MIN_TABLE_SIZE} up to the size <code>HashMap</code>
+ * uses for all objects. For each table size, the chi-squared statistic of
+ * the bucket counts divided by its degrees of freedom is about 1 for random
+ * hash codes and grows with clustering.
+ * <p>
+ * The score is the lowest of the share of distinct hash codes and the
+ * inverse chi-squared ratio of each table size, capped at 1. It is about 1
+ * for random hash codes and 0 for constant hash codes.
+ * </p>
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class HashCodeDistribution {
+	static final int MIN_TABLE_SIZE = 64;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final int count;
+	private final int distinctHashCodes;
+	private final List<TableStats> tableStats;
+	private final double score;
+
+	/** Bucket statistics for a single table size. */
+	private static final class TableStats {
+		private final int tableSize;
+		private final double chiSquaredRatio;
+		private final double usedBuckets;
+		private final double expectedUsedBuckets;
+
+		TableStats(final int tableSize, final double chiSquaredRatio, final double usedBuckets, final double expectedUsedBuckets) {
+			this.tableSize = tableSize;
+			this.chiSquaredRatio = chiSquaredRatio;
+			this.usedBuckets = usedBuckets;
+			this.expectedUsedBuckets = expectedUsedBuckets;
+		}
+	}
+
+	private HashCodeDistribution(final int[] hashCodes) {
+		this.count = hashCodes.length;
+		this.distinctHashCodes = countDistinct(hashCodes);
+		final List<TableStats> tableStats = new ArrayList<>();
+		double score = count == 0 ? 1 : (double) distinctHashCodes / count;
+		final int maxTableSize = tableSizeFor(count);
+		for (int tableSize = MIN_TABLE_SIZE; tableSize <= maxTableSize; tableSize <<= 1) {
+			final TableStats stats = computeTableStats(hashCodes, tableSize);
+			tableStats.add(stats);
+			score = Math.min(score, Math.min(1, 1 / stats.chiSquaredRatio));
+		}
+		this.tableStats = Collections.unmodifiableList(tableStats);
+		this.score = score;
+	}
+
+	/**
+	 * Compute the distribution of the given hash codes of distinct objects.
+	 */
+	static HashCodeDistribution of(final int[] hashCodes) {
+		return new HashCodeDistribution(hashCodes);
+	}
+
+	/** Spread like {@link java.util.HashMap} does. */
+	static int spread(final int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/** The table size of a {@link java.util.HashMap} holding the given count. */
+	static int tableSizeFor(final int count) {
+		final int capacity = (int) Math.ceil(count / LOAD_FACTOR);
+		return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+
+	private static int countDistinct(final int[] hashCodes) {
+		if (hashCodes.length == 0) {
+			return 0;
+		}
+		final int[] sorted = hashCodes.clone();
+		Arrays.sort(sorted);
+		int distinct = 1;
+		for (int i = 1; i < sorted.length; i++) {
+			if (sorted[i] != sorted[i - 1]) {
+				distinct++;
+			}
+		}
+		return distinct;
+	}
+
+	private static TableStats computeTableStats(final int[] hashCodes, final int tableSize) {
+		final int[] buckets = new int[tableSize];
+		for (final int hashCode : hashCodes) {
+			buckets[spread(hashCode) & (tableSize - 1)]++;
+		}
+		final double expected = (double) hashCodes.length / tableSize;
+		double chiSquared = 0;
+		int used = 0;
+		for (final int bucket : buckets) {
+			chiSquared += (bucket - expected) * (bucket - expected) / expected;
+			if (bucket > 0) {
+				used++;
+			}
+		}
+		final double expectedUsed = 1 - Math.pow(1 - 1.0 / tableSize, hashCodes.length);
+		return new TableStats(tableSize, chiSquared / (tableSize - 1), (double) used / tableSize, expectedUsed);
+	}
+
+	/** The number of distinct objects. */
+	int getCount() {
+		return count;
+	}
+
+	/**
+	 * The share of objects whose hash code equals the hash code of an object
+	 * counted before, i.e. 1 minus the share of distinct hash codes.
+	 */
+	double getCollisionRate() {
+		return count == 0 ? 0 : 1 - (double) distinctHashCodes / count;
+	}
+
+	/** The score from 0 for constant to about 1 for random hash codes. */
+	double getScore() {
+		return score;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(String.format(Locale.ROOT, "score %.2f for %d distinct objects, %.1f%% hash code collisions", score, count, getCollisionRate() * 100));
+		for (final TableStats stats : tableStats) {
+			sb.append(String.format(Locale.ROOT, "%n  table size %d: chi-squared/df %.2f, %.1f%% buckets used (random: %.1f%%)", stats.tableSize, stats.chiSquaredRatio, stats.usedBuckets * 100, stats.expectedUsedBuckets * 100));
+		}
+		return sb.toString();
+	}
+}
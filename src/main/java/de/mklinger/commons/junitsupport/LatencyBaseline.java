@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Baseline latencies of the latency check, see {@link TestRunProfile}. The
+ * baseline file is meant to be committed with the project. It has a line
+ * <code>&lt;class&gt;#&lt;method&gt;=&lt;nanoseconds&gt;</code> with the
+ * median latency per bean class and method. The file is only written if the
+ * baseline is updated, then the measured latencies are merged into it on
+ * shutdown.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class LatencyBaseline {
+	private static final Logger LOG = LoggerFactory.getLogger(LatencyBaseline.class);
+
+	private static final char METHOD_SEPARATOR = '#';
+	private static final ConcurrentMap<Path, LatencyBaseline> BASELINES = new ConcurrentHashMap<>();
+
+	private final Path file;
+	private final boolean update;
+	private final Map<String, Double> baselineNanos;
+	private final ConcurrentMap<String, Double> measuredNanos = new ConcurrentHashMap<>();
+
+	/**
+	 * Read a baseline file.
+	 * @param update <code>true</code> to merge the measured latencies into
+	 *        the file on {@link #write()}
+	 */
+	LatencyBaseline(final Path file, final boolean update) throws IOException {
+		this.file = file;
+		this.update = update;
+		this.baselineNanos = Collections.unmodifiableMap(parse(PropertiesFile.read(file)));
+	}
+
+	/**
+	 * Get the baseline of the given file shared by all checks in this JVM.
+	 * The baseline is written on shutdown if it is updated.
+	 */
+	static LatencyBaseline forFile(final Path file) {
+		return BASELINES.computeIfAbsent(file.toAbsolutePath().normalize(), absoluteFile -> {
+			try {
+				final LatencyBaseline baseline = new LatencyBaseline(absoluteFile, TestRunProfile.get().isUpdateLatencyBaseline());
+				if (baseline.isUpdate()) {
+					Runtime.getRuntime().addShutdownHook(new Thread(baseline::write, "junit-support-latency-baseline"));
+				}
+				return baseline;
+			} catch (final IOException e) {
+				throw new IllegalStateException("Error reading latency baseline file " + absoluteFile, e);
+			}
+		});
+	}
+
+	/**
+	 * Are the measured latencies written to the file?
+	 */
+	boolean isUpdate() {
+		return update;
+	}
+
+	/**
+	 * Get the key of a method of a bean class.
+	 */
+	static String key(final Class<?> beanClass, final String methodName) {
+		return beanClass.getName() + METHOD_SEPARATOR + methodName;
+	}
+
+	/**
+	 * Get the baseline latency.
+	 * @return The median nanoseconds per call or <code>null</code> if the
+	 *         file has no baseline for the given key
+	 */
+	Double getBaselineNanos(final String key) {
+		return baselineNanos.get(key);
+	}
+
+	/**
+	 * Record a measured latency.
+	 * @param nanos The median nanoseconds per call
+	 */
+	void record(final String key, final double nanos) {
+		measuredNanos.put(key, nanos);
+	}
+
+	/**
+	 * Merge the measured latencies into the baseline file if the baseline is
+	 * updated. Otherwise the file is left unchanged.
+	 */
+	void write() {
+		final Map<String, Double> changed = new TreeMap<>(measuredNanos);
+		if (!update || changed.isEmpty()) {
+			return;
+		}
+		try {
+			PropertiesFile.merge(file, entries -> {
+				final Map<String, Double> merged = parse(entries);
+				merged.putAll(changed);
+				return toEntries(merged);
+			});
+			LOG.info("Wrote {} latencies to baseline file {}", changed.size(), file);
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Error writing latency baseline file {}", file, e);
+		}
+	}
+
+	private static Map<String, Double> parse(final Map<String, String> entries) {
+		final Map<String, Double> nanos = new TreeMap<>();
+		for (final Map.Entry<String, String> entry : entries.entrySet()) {
+			try {
+				nanos.put(entry.getKey(), Double.parseDouble(entry.getValue()));
+			} catch (final NumberFormatException e) {
+				LOG.warn("Ignoring invalid latency: {}={}", entry.getKey(), entry.getValue());
+			}
+		}
+		return nanos;
+	}
+
+	/**
+	 * Format latencies sorted by key.
+	 */
+	private static Map<String, String> toEntries(final Map<String, Double> nanos) {
+		final Map<String, String> entries = new TreeMap<>();
+		for (final Map.Entry<String, Double> entry : nanos.entrySet()) {
+			entries.put(entry.getKey(), String.format(Locale.ROOT, "%.1f", entry.getValue()));
+		}
+		return entries;
+	}
+}
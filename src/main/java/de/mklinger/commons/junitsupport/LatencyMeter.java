@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the latency of an operation in nanoseconds per call. Each
+ * iteration calls the operation as often as needed to take at least a
+ * millisecond, so the resolution of the clock does not matter. Iterations
+ * are warmed up before measuring.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class LatencyMeter {
+	private static final long MIN_ITERATION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final int MAX_CALLS_PER_ITERATION = 1 << 30;
+
+	private final int warmUpIterations;
+	private final int iterations;
+	private final LongSupplier clock;
+	private volatile int sink;
+
+	/**
+	 * Create a new meter using {@link System#nanoTime()}.
+	 * @param warmUpIterations The number of iterations before measuring
+	 * @param iterations The number of measured iterations
+	 */
+	LatencyMeter(final int warmUpIterations, final int iterations) {
+		this(warmUpIterations, iterations, System::nanoTime);
+	}
+
+	/**
+	 * Create a new meter using the given clock.
+	 * @param warmUpIterations The number of iterations before measuring
+	 * @param iterations The number of measured iterations
+	 * @param clock The current time in nanoseconds
+	 */
+	LatencyMeter(final int warmUpIterations, final int iterations, final LongSupplier clock) {
+		this.warmUpIterations = warmUpIterations;
+		this.iterations = iterations;
+		this.clock = clock;
+	}
+
+	/**
+	 * Warm up the operation and measure its latency.
+	 * @return The mean nanoseconds per call of each measured iteration
+	 */
+	double[] getNanosPerCall(final MeasuredOperation operation) throws Throwable {
+		int calls = getCallsPerIteration(operation, 1);
+		for (int i = 0; i < warmUpIterations; i++) {
+			time(operation, calls);
+		}
+		// compiled code may need more calls per iteration
+		calls = getCallsPerIteration(operation, calls);
+		final double[] nanosPerCall = new double[iterations];
+		for (int i = 0; i < iterations; i++) {
+			nanosPerCall[i] = time(operation, calls) / (double) calls;
+		}
+		return nanosPerCall;
+	}
+
+	private int getCallsPerIteration(final MeasuredOperation operation, final int minCalls) throws Throwable {
+		int calls = minCalls;
+		while (calls < MAX_CALLS_PER_ITERATION && time(operation, calls) < MIN_ITERATION_NANOS) {
+			calls *= 2;
+		}
+		return calls;
+	}
+
+	private long time(final MeasuredOperation operation, final int calls) throws Throwable {
+		int result = 0;
+		final long start = clock.getAsLong();
+		for (int i = 0; i < calls; i++) {
+			result += operation.call(i);
+		}
+		final long nanos = clock.getAsLong() - start;
+		sink = result;
+		return nanos;
+	}
+
+	/**
+	 * Get a percentile of the given samples using the nearest-rank method.
+	 * @param percentile The percentile from 0 to 1, e.g. 0.5 for the median
+	 */
+	static double percentile(final double[] samples, final double percentile) {
+		if (samples.length == 0) {
+			throw new IllegalArgumentException("No samples");
+		}
+		final double[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		final int rank = (int) Math.ceil(percentile * sorted.length);
+		return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+	}
+
+	/**
+	 * Fit the exponent <code>k</code> of the growth
+	 * <code>latency ~ size<sup>k</sup></code> by least squares on the
+	 * logarithms, e.g. about 1 for linear and 2 for quadratic growth.
+	 * @param sizes At least two distinct sizes
+	 * @param nanos The positive latency for each size
+	 */
+	static double fitExponent(final double[] sizes, final double[] nanos) {
+		if (sizes.length < 2 || sizes.length != nanos.length) {
+			throw new IllegalArgumentException("Need at least two sizes with a latency each");
+		}
+		double meanX = 0;
+		double meanY = 0;
+		for (int i = 0; i < sizes.length; i++) {
+			meanX += Math.log(sizes[i]);
+			meanY += Math.log(nanos[i]);
+		}
+		meanX /= sizes.length;
+		meanY /= sizes.length;
+		double covariance = 0;
+		double variance = 0;
+		for (int i = 0; i < sizes.length; i++) {
+			final double dx = Math.log(sizes[i]) - meanX;
+			covariance += dx * (Math.log(nanos[i]) - meanY);
+			variance += dx * dx;
+		}
+		return covariance / variance;
+	}
+}
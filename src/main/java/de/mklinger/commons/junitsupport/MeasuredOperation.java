@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+/**
+ * An operation measured by {@link AllocationMeter} or {@link LatencyMeter}.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+interface MeasuredOperation {
+	/**
+	 * Call the operation.
+	 * @param i The index of the call, e.g. to cycle through test objects
+	 * @return Any result derived from the call, to keep it from being
+	 *         optimized away
+	 */
+	int call(int i) throws Throwable;
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Name and signature indexed members of a class hierarchy. Lookups are plain
+ * map probes and return <code>null</code> on a miss instead of throwing.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class MemberIndex {
+	private final List<Field> fields;
+	private final Map<String, Field> fieldsByName;
+	private final List<Method> declaredMethods;
+	private final Map<String, Method> publicMethodsBySignature;
+	private final Map<String, Constructor<?>> publicConstructorsBySignature;
+
+	/**
+	 * Index the given class. Declared fields and methods of all superclasses up
+	 * to, but excluding, {@link Object} are included whether or not they are
+	 * visible. Public methods include those inherited from {@link Object}.
+	 */
+	MemberIndex(final Class<?> clazz) {
+		final List<Field> allFields = new ArrayList<>();
+		final List<Method> allDeclaredMethods = new ArrayList<>();
+		Class<?> c = clazz;
+		while (c != null && c != Object.class) {
+			Collections.addAll(allFields, c.getDeclaredFields());
+			Collections.addAll(allDeclaredMethods, c.getDeclaredMethods());
+			c = c.getSuperclass();
+		}
+		this.fields = Collections.unmodifiableList(allFields);
+		this.declaredMethods = Collections.unmodifiableList(allDeclaredMethods);
+
+		final Map<String, Field> fieldsByName = new HashMap<>();
+		for (final Field field : allFields) {
+			// fields of subclasses hide fields of superclasses
+			fieldsByName.putIfAbsent(field.getName(), field);
+		}
+		this.fieldsByName = fieldsByName;
+
+		final Map<String, Method> publicMethodsBySignature = new HashMap<>();
+		for (final Method method : clazz.getMethods()) {
+			final String signature = signature(method.getName(), method.getParameterTypes());
+			final Method existing = publicMethodsBySignature.get(signature);
+			// prefer the most specific return type, like Class.getMethod() does
+			if (existing == null || existing.getReturnType().isAssignableFrom(method.getReturnType())) {
+				publicMethodsBySignature.put(signature, method);
+			}
+		}
+		this.publicMethodsBySignature = publicMethodsBySignature;
+
+		final Map<String, Constructor<?>> publicConstructorsBySignature = new HashMap<>();
+		for (final Constructor<?> constructor : clazz.getConstructors()) {
+			publicConstructorsBySignature.put(signature("<init>", constructor.getParameterTypes()), constructor);
+		}
+		this.publicConstructorsBySignature = publicConstructorsBySignature;
+	}
+
+	private static String signature(final String name, final Class<?>... parameterTypes) {
+		final StringBuilder sb = new StringBuilder(name).append('(');
+		for (final Class<?> parameterType : parameterTypes) {
+			sb.append(parameterType.getName()).append(',');
+		}
+		return sb.append(')').toString();
+	}
+
+	/** All declared fields, subclass fields first. */
+	List<Field> getFields() {
+		return fields;
+	}
+
+	/** All declared methods, subclass methods first. */
+	List<Method> getDeclaredMethods() {
+		return declaredMethods;
+	}
+
+	/**
+	 * Get the first field with the given name, searching from the indexed class
+	 * upwards.
+	 * @return The field or <code>null</code>
+	 */
+	Field getField(final String name) {
+		return fieldsByName.get(name);
+	}
+
+	/**
+	 * Get the public method with the given name and parameter types.
+	 * @return The method or <code>null</code>
+	 */
+	Method getPublicMethod(final String name, final Class<?>... parameterTypes) {
+		return publicMethodsBySignature.get(signature(name, parameterTypes));
+	}
+
+	/**
+	 * Get the public constructor with the given parameter types.
+	 * @return The constructor or <code>null</code>
+	 */
+	Constructor<?> getPublicConstructor(final Class<?>... parameterTypes) {
+		return publicConstructorsBySignature.get(signature("<init>", parameterTypes));
+	}
+}
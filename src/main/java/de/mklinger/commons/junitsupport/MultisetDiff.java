@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Difference of two collections compared as multisets, i.e. ignoring order
+ * but counting duplicates. Elements are counted in a hash map in linear
+ * time. If an element fails to compute its hash code, elements are sorted
+ * by their natural order and merged, matching elements that compare equal
+ * by <code>equals()</code>. Elements that are neither hashable nor
+ * comparable are matched pairwise.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class MultisetDiff {
+	static final int MAX_REPORTED_ELEMENTS = 10;
+
+	private final int expectedSize;
+	private final int actualSize;
+	private final List<Object> missing;
+	private final List<Object> unexpected;
+
+	private MultisetDiff(final int expectedSize, final int actualSize, final List<Object> missing, final List<Object> unexpected) {
+		this.expectedSize = expectedSize;
+		this.actualSize = actualSize;
+		this.missing = Collections.unmodifiableList(missing);
+		this.unexpected = Collections.unmodifiableList(unexpected);
+	}
+
+	/**
+	 * Compare the given collections.
+	 */
+	static MultisetDiff of(final Collection<?> expected, final Collection<?> actual) {
+		final List<Object> missing = new ArrayList<>();
+		final List<Object> unexpected = new ArrayList<>();
+		try {
+			countingDiff(expected, actual, missing, unexpected);
+		} catch (final RuntimeException e) {
+			missing.clear();
+			unexpected.clear();
+			try {
+				sortedDiff(expected, actual, missing, unexpected);
+			} catch (final ClassCastException e2) {
+				missing.clear();
+				unexpected.clear();
+				pairwiseDiff(expected, actual, missing, unexpected);
+			}
+		}
+		return new MultisetDiff(expected.size(), actual.size(), missing, unexpected);
+	}
+
+	private static void countingDiff(final Collection<?> expected, final Collection<?> actual, final List<Object> missing, final List<Object> unexpected) {
+		// insertion order to report differences in collection order
+		final Map<Object, int[]> counts = new LinkedHashMap<>(HashCodeDistribution.tableSizeFor(expected.size()));
+		for (final Object element : expected) {
+			counts.computeIfAbsent(element, key -> new int[1])[0]++;
+		}
+		int differences = 0;
+		for (final Object element : actual) {
+			final int[] count = counts.get(element);
+			if (count == null) {
+				counts.put(element, new int[] { -1 });
+				differences++;
+			} else {
+				count[0]--;
+				if (count[0] < 0) {
+					differences++;
+				}
+			}
+		}
+		if (differences == 0 && expected.size() == actual.size()) {
+			return;
+		}
+		for (final Map.Entry<Object, int[]> entry : counts.entrySet()) {
+			final int count = entry.getValue()[0];
+			for (int i = 0; i < count; i++) {
+				missing.add(entry.getKey());
+			}
+			for (int i = 0; i > count; i--) {
+				unexpected.add(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Merge the sorted collections.
+	 * @throws ClassCastException if the elements are not mutually comparable
+	 */
+	private static void sortedDiff(final Collection<?> expected, final Collection<?> actual, final List<Object> missing, final List<Object> unexpected) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Comparator<Object> comparator = Comparator.nullsFirst((Comparator) Comparator.naturalOrder());
+		final List<Object> sortedExpected = new ArrayList<>(expected);
+		final List<Object> sortedActual = new ArrayList<>(actual);
+		sortedExpected.sort(comparator);
+		sortedActual.sort(comparator);
+		int i = 0;
+		int j = 0;
+		while (i < sortedExpected.size() && j < sortedActual.size()) {
+			final Object expectedElement = sortedExpected.get(i);
+			final Object actualElement = sortedActual.get(j);
+			final int cmp = comparator.compare(expectedElement, actualElement);
+			if (cmp < 0) {
+				missing.add(expectedElement);
+				i++;
+			} else if (cmp > 0) {
+				unexpected.add(actualElement);
+				j++;
+			} else {
+				// elements may compare equal without being equal, so match
+				// the runs of elements comparing equal by equals()
+				final int expectedEnd = getRunEnd(sortedExpected, i, comparator);
+				final int actualEnd = getRunEnd(sortedActual, j, comparator);
+				pairwiseDiff(sortedExpected.subList(i, expectedEnd), sortedActual.subList(j, actualEnd), missing, unexpected);
+				i = expectedEnd;
+				j = actualEnd;
+			}
+		}
+		missing.addAll(sortedExpected.subList(i, sortedExpected.size()));
+		unexpected.addAll(sortedActual.subList(j, sortedActual.size()));
+	}
+
+	/**
+	 * Get the end of the run of elements comparing equal to the element at the
+	 * given index.
+	 */
+	private static int getRunEnd(final List<Object> sorted, final int start, final Comparator<Object> comparator) {
+		int end = start + 1;
+		while (end < sorted.size() && comparator.compare(sorted.get(start), sorted.get(end)) == 0) {
+			end++;
+		}
+		return end;
+	}
+
+	private static void pairwiseDiff(final Collection<?> expected, final Collection<?> actual, final List<Object> missing, final List<Object> unexpected) {
+		final List<Object> remaining = new ArrayList<>(actual);
+		for (final Object element : expected) {
+			if (!removeFirst(remaining, element)) {
+				missing.add(element);
+			}
+		}
+		unexpected.addAll(remaining);
+	}
+
+	private static boolean removeFirst(final List<Object> elements, final Object element) {
+		for (final Iterator<Object> it = elements.iterator(); it.hasNext();) {
+			if (Objects.equals(element, it.next())) {
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Whether both collections contain the same elements equally often. */
+	boolean isEmpty() {
+		return missing.isEmpty() && unexpected.isEmpty();
+	}
+
+	/** Expected elements missing in the actual collection, once per missing occurrence. */
+	List<Object> getMissing() {
+		return missing;
+	}
+
+	/** Actual elements not expected, once per unexpected occurrence. */
+	List<Object> getUnexpected() {
+		return unexpected;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("expected size ").append(expectedSize).append(", actual size ").append(actualSize);
+		appendElements(sb, "missing", missing);
+		appendElements(sb, "unexpected", unexpected);
+		return sb.toString();
+	}
+
+	private static void appendElements(final StringBuilder sb, final String label, final List<Object> elements) {
+		if (elements.isEmpty()) {
+			return;
+		}
+		sb.append(String.format("%n  ")).append(elements.size()).append(' ').append(label).append(": ");
+		final int reported = Math.min(elements.size(), MAX_REPORTED_ELEMENTS);
+		sb.append(elements.subList(0, reported));
+		if (reported < elements.size()) {
+			sb.append(" and ").append(elements.size() - reported).append(" more");
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Properties files shared by the JVMs of a build, like the timings file and
+ * the latency baseline file. Files are merged under an exclusive lock, so
+ * several forks can write the same file. Entries are written in the order of
+ * the given map, one line per entry.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class PropertiesFile {
+	private PropertiesFile() {
+	}
+
+	/**
+	 * Read all entries of a properties file.
+	 * @return The entries sorted by key, empty if the file does not exist
+	 */
+	static Map<String, String> read(final Path file) throws IOException {
+		if (!Files.exists(file)) {
+			return new TreeMap<>();
+		}
+		try (InputStream in = Files.newInputStream(file)) {
+			return parse(readFully(in));
+		}
+	}
+
+	/**
+	 * Replace the entries of a properties file while holding an exclusive
+	 * lock on it. The file and its parent directories are created if needed.
+	 * @param merger Function from the current entries, sorted by key, to the
+	 *        entries to write
+	 */
+	static void merge(final Path file, final UnaryOperator<Map<String, String>> merger) throws IOException {
+		final Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final FileLock lock = channel.lock();
+			try {
+				final Map<String, String> merged = merger.apply(parse(readFully(Channels.newInputStream(channel))));
+				final byte[] content = format(merged).getBytes(StandardCharsets.UTF_8);
+				channel.truncate(0);
+				channel.position(0);
+				channel.write(ByteBuffer.wrap(content));
+			} finally {
+				lock.release();
+			}
+		}
+	}
+
+	static Map<String, String> parse(final String content) throws IOException {
+		final Properties properties = new Properties();
+		properties.load(new StringReader(content));
+		final Map<String, String> entries = new TreeMap<>();
+		for (final String key : properties.stringPropertyNames()) {
+			entries.put(key, properties.getProperty(key).trim());
+		}
+		return entries;
+	}
+
+	/**
+	 * Format entries in the order of the given map.
+	 */
+	static String format(final Map<String, String> entries) {
+		final StringBuilder sb = new StringBuilder();
+		for (final Map.Entry<String, String> entry : entries.entrySet()) {
+			for (final char c : entry.getKey().toCharArray()) {
+				if (c == ' ' || c == ':' || c == '=' || c == '\\') {
+					sb.append('\\');
+				}
+				sb.append(c);
+			}
+			sb.append('=').append(entry.getValue()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static String readFully(final InputStream in) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[8192];
+		int n;
+		while ((n = in.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
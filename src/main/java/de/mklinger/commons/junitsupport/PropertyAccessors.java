@@ -0,0 +1,196 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory for compiled property accessors. Getters, setters and fields are
+ * unreflected once into method handles. If the module system or a security
+ * manager does not allow this, plain reflection is used instead.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class PropertyAccessors {
+	private static final Logger LOG = LoggerFactory.getLogger(PropertyAccessors.class);
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+	/** Read access to a bean property. */
+	interface Reader {
+		Object read(Object bean) throws IllegalAccessException, InvocationTargetException;
+	}
+
+	/** Write access to a bean property. */
+	interface Writer {
+		void write(Object bean, Object value) throws IllegalAccessException, InvocationTargetException;
+	}
+
+	/**
+	 * Call access to a getter that drops the result. Unlike {@link Reader},
+	 * primitive results are not boxed.
+	 */
+	interface Invoker {
+		void invoke(Object bean) throws Throwable;
+	}
+
+	private PropertyAccessors() {
+	}
+
+	static Reader reader(final Method getter) {
+		setAccessible(getter);
+		return reader(getter, LOOKUP);
+	}
+
+	/**
+	 * Create an accessor with the given lookup. If the lookup has no access
+	 * to the member, plain reflection is used instead.
+	 */
+	static Reader reader(final Method getter, final MethodHandles.Lookup lookup) {
+		try {
+			final MethodHandle handle = adapt(lookup.unreflect(getter), getter.getModifiers(), READER_TYPE);
+			return bean -> {
+				try {
+					return (Object) handle.invokeExact(bean);
+				} catch (final Throwable e) {
+					throw new InvocationTargetException(e);
+				}
+			};
+		} catch (final IllegalAccessException e) {
+			LOG.debug("Using reflection for getter {}", getter, e);
+			return bean -> getter.invoke(bean);
+		}
+	}
+
+	static Invoker invoker(final Method getter) {
+		setAccessible(getter);
+		return invoker(getter, LOOKUP);
+	}
+
+	static Invoker invoker(final Method getter, final MethodHandles.Lookup lookup) {
+		try {
+			final MethodHandle handle = adapt(lookup.unreflect(getter), getter.getModifiers(), INVOKER_TYPE);
+			return bean -> {
+				handle.invokeExact(bean);
+			};
+		} catch (final IllegalAccessException e) {
+			LOG.debug("Using reflection for getter {}", getter, e);
+			return bean -> getter.invoke(bean);
+		}
+	}
+
+	static Reader reader(final Field field) {
+		setAccessible(field);
+		return reader(field, LOOKUP);
+	}
+
+	static Reader reader(final Field field, final MethodHandles.Lookup lookup) {
+		try {
+			final MethodHandle handle = adapt(lookup.unreflectGetter(field), field.getModifiers(), READER_TYPE);
+			return bean -> {
+				try {
+					return (Object) handle.invokeExact(bean);
+				} catch (final RuntimeException | Error e) {
+					throw e;
+				} catch (final Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (final IllegalAccessException e) {
+			LOG.debug("Using reflection for field {}", field, e);
+			return bean -> field.get(bean);
+		}
+	}
+
+	static Writer writer(final Method setter) {
+		setAccessible(setter);
+		return writer(setter, LOOKUP);
+	}
+
+	static Writer writer(final Method setter, final MethodHandles.Lookup lookup) {
+		try {
+			final MethodHandle handle = adapt(lookup.unreflect(setter), setter.getModifiers(), WRITER_TYPE);
+			return (bean, value) -> {
+				try {
+					handle.invokeExact(bean, value);
+				} catch (final Throwable e) {
+					throw new InvocationTargetException(e);
+				}
+			};
+		} catch (final IllegalAccessException e) {
+			LOG.debug("Using reflection for setter {}", setter, e);
+			return (bean, value) -> setter.invoke(bean, value);
+		}
+	}
+
+	static Writer writer(final Field field) {
+		setAccessible(field);
+		return writer(field, LOOKUP);
+	}
+
+	static Writer writer(final Field field, final MethodHandles.Lookup lookup) {
+		try {
+			final MethodHandle handle = adapt(lookup.unreflectSetter(field), field.getModifiers(), WRITER_TYPE);
+			return (bean, value) -> {
+				try {
+					handle.invokeExact(bean, value);
+				} catch (final ClassCastException e) {
+					throw new IllegalArgumentException("Can not set field " + field + " to value of " + value.getClass(), e);
+				} catch (final RuntimeException | Error e) {
+					throw e;
+				} catch (final Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (final IllegalAccessException e) {
+			LOG.debug("Using reflection for field {}", field, e);
+			return (bean, value) -> field.set(bean, value);
+		}
+	}
+
+	/**
+	 * Adapt a handle to the generic accessor type. Static members get a
+	 * leading bean parameter that is ignored.
+	 */
+	private static MethodHandle adapt(final MethodHandle handle, final int modifiers, final MethodType type) {
+		MethodHandle adapted = handle;
+		if (Modifier.isStatic(modifiers)) {
+			adapted = MethodHandles.dropArguments(adapted, 0, Object.class);
+		}
+		return adapted.asType(type);
+	}
+
+	private static void setAccessible(final AccessibleObject accessibleObject) {
+		try {
+			accessibleObject.setAccessible(true);
+		} catch (final RuntimeException e) {
+			// InaccessibleObjectException or SecurityException
+			LOG.debug("Could not make {} accessible", accessibleObject, e);
+		}
+	}
+}
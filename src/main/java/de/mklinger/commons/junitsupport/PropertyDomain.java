@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finite value domain of a set of bean properties with boolean, byte or enum
+ * types. A domain below the threshold is enumerated exhaustively. Otherwise,
+ * if all pairs of values fit below the threshold, it is covered pairwise: each
+ * combination of values of any two properties occurs in at least one row.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class PropertyDomain {
+	private static final Object[] BOOLEAN_VALUES = { Boolean.FALSE, Boolean.TRUE };
+	private static final Object[] BYTE_VALUES = createByteValues();
+
+	private final String[] propertyNames;
+	private final Object[][] values;
+	private final boolean exhaustive;
+	private final int rowCount;
+	/** Value indexes of each row, only for pairwise coverage. */
+	private final List<int[]> rows;
+
+	private PropertyDomain(final String[] propertyNames, final Object[][] values, final boolean exhaustive, final int rowCount, final List<int[]> rows) {
+		this.propertyNames = propertyNames;
+		this.values = values;
+		this.exhaustive = exhaustive;
+		this.rowCount = rowCount;
+		this.rows = rows;
+	}
+
+	/**
+	 * Create the domain of the given properties.
+	 * @param propertyTypes Property names to types
+	 * @param threshold The maximum number of rows
+	 * @return The domain or <code>null</code> if any property type has no small
+	 *         domain or the domain can not be covered within the threshold
+	 */
+	static PropertyDomain of(final Map<String, Class<?>> propertyTypes, final long threshold) {
+		final long maxRows = Math.min(threshold, Integer.MAX_VALUE);
+		final List<String> names = new ArrayList<>(propertyTypes.keySet());
+		Collections.sort(names);
+		final Object[][] values = new Object[names.size()][];
+		long size = 1;
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getValues(propertyTypes.get(names.get(i)));
+			if (values[i] == null || values[i].length == 0) {
+				return null;
+			}
+			if (size <= maxRows) {
+				size *= values[i].length;
+			}
+		}
+		final String[] propertyNames = names.toArray(new String[0]);
+		if (size <= maxRows) {
+			return new PropertyDomain(propertyNames, values, true, (int) size, null);
+		}
+		if (getMaxPairSize(values) > maxRows) {
+			return null;
+		}
+		final List<int[]> rows = createPairwiseRows(values);
+		if (rows.size() > maxRows) {
+			return null;
+		}
+		return new PropertyDomain(propertyNames, values, false, rows.size(), rows);
+	}
+
+	/**
+	 * Get the values of a type with a small domain.
+	 * @return The values or <code>null</code> if the domain is not small
+	 */
+	static Object[] getValues(final Class<?> type) {
+		if (type == Boolean.TYPE || type == Boolean.class) {
+			return BOOLEAN_VALUES;
+		} else if (type == Byte.TYPE || type == Byte.class) {
+			return BYTE_VALUES;
+		} else if (type.isEnum()) {
+			return type.getEnumConstants();
+		}
+		return null;
+	}
+
+	private static Object[] createByteValues() {
+		final Object[] byteValues = new Object[256];
+		for (int i = 0; i < byteValues.length; i++) {
+			byteValues[i] = (byte) (Byte.MIN_VALUE + i);
+		}
+		return byteValues;
+	}
+
+	private static long getMaxPairSize(final Object[][] values) {
+		long max1 = 0;
+		long max2 = 0;
+		for (final Object[] v : values) {
+			if (v.length > max1) {
+				max2 = max1;
+				max1 = v.length;
+			} else if (v.length > max2) {
+				max2 = v.length;
+			}
+		}
+		return max1 * Math.max(max2, 1);
+	}
+
+	/**
+	 * Greedily create rows until all value pairs are covered. Each row starts
+	 * with an uncovered pair, the remaining properties get the value covering
+	 * the most uncovered pairs with the properties assigned before.
+	 */
+	private static List<int[]> createPairwiseRows(final Object[][] values) {
+		final int n = values.length;
+		final boolean[][][][] covered = new boolean[n][n][][];
+		int uncovered = 0;
+		for (int a = 0; a < n; a++) {
+			for (int b = a + 1; b < n; b++) {
+				covered[a][b] = new boolean[values[a].length][values[b].length];
+				uncovered += values[a].length * values[b].length;
+			}
+		}
+		final List<int[]> rows = new ArrayList<>();
+		if (n < 2) {
+			for (int v = 0; n == 1 && v < values[0].length; v++) {
+				rows.add(new int[] { v });
+			}
+			return rows;
+		}
+		while (uncovered > 0) {
+			final int[] row = new int[n];
+			final boolean[] assigned = new boolean[n];
+			assignFirstUncoveredPair(covered, row, assigned);
+			for (int c = 0; c < n; c++) {
+				if (!assigned[c]) {
+					row[c] = getBestValue(values, covered, row, assigned, c);
+					assigned[c] = true;
+				}
+			}
+			for (int a = 0; a < n; a++) {
+				for (int b = a + 1; b < n; b++) {
+					if (!covered[a][b][row[a]][row[b]]) {
+						covered[a][b][row[a]][row[b]] = true;
+						uncovered--;
+					}
+				}
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	private static void assignFirstUncoveredPair(final boolean[][][][] covered, final int[] row, final boolean[] assigned) {
+		for (int a = 0; a < row.length; a++) {
+			for (int b = a + 1; b < row.length; b++) {
+				final boolean[][] pairs = covered[a][b];
+				for (int va = 0; va < pairs.length; va++) {
+					for (int vb = 0; vb < pairs[va].length; vb++) {
+						if (!pairs[va][vb]) {
+							row[a] = va;
+							row[b] = vb;
+							assigned[a] = true;
+							assigned[b] = true;
+							return;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static int getBestValue(final Object[][] values, final boolean[][][][] covered, final int[] row, final boolean[] assigned, final int c) {
+		int bestValue = 0;
+		int bestGain = -1;
+		for (int v = 0; v < values[c].length; v++) {
+			int gain = 0;
+			for (int other = 0; other < row.length; other++) {
+				if (assigned[other]) {
+					final boolean isCovered = other < c ? covered[other][c][row[other]][v] : covered[c][other][v][row[other]];
+					if (!isCovered) {
+						gain++;
+					}
+				}
+			}
+			if (gain > bestGain) {
+				bestGain = gain;
+				bestValue = v;
+			}
+		}
+		return bestValue;
+	}
+
+	/** Is the domain enumerated exhaustively, not only pairwise? */
+	boolean isExhaustive() {
+		return exhaustive;
+	}
+
+	int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Get the property values of the given row.
+	 * @return Property names to values
+	 */
+	Map<String, Object> getRow(final int rowIndex) {
+		final Map<String, Object> row = new HashMap<>();
+		int remainder = rowIndex;
+		for (int i = 0; i < propertyNames.length; i++) {
+			final int valueIndex;
+			if (exhaustive) {
+				// mixed radix decoding of the row index
+				valueIndex = remainder % values[i].length;
+				remainder /= values[i].length;
+			} else {
+				valueIndex = rows.get(rowIndex)[i];
+			}
+			row.put(propertyNames[i], values[i][valueIndex]);
+		}
+		return row;
+	}
+}
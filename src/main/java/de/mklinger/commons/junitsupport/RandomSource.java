@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+/**
+ * Source of random test values. Sources can be split into independent
+ * streams and jumped ahead, so that any single stream or any position in a
+ * stream can be reproduced without generating the values before it.
+ * Implementations do not need to be thread safe, except for
+ * {@link #split(long)}.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+public interface RandomSource {
+	/** Get the next value of this stream. */
+	long nextLong();
+
+	/**
+	 * Derive an independent stream. The derived stream only depends on the
+	 * seed of this source and the given stream id, not on the number of values
+	 * already taken from this source.
+	 * @param streamId The stream id
+	 * @return A new source
+	 */
+	RandomSource split(long streamId);
+
+	/**
+	 * Skip the given number of values.
+	 * @param count The number of values to skip
+	 */
+	void jump(long count);
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local cache of passed checks. A check is skipped if it passed before with
+ * the same bytecode of the test class, the tested classes and their
+ * superclasses, the same junit-support version, the same
+ * {@link TestRunProfile}, the same seed system property of the test class
+ * and the same content of the latency baseline file. Each passed check is
+ * recorded as a file named by the hash of these inputs. Classes of the JDK are represented by the Java
+ * version.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class ResultCache {
+	private static final Logger LOG = LoggerFactory.getLogger(ResultCache.class);
+
+	private static final String VERSION_RESOURCE = "META-INF/maven/de.mklinger.commons/junit-support/pom.properties";
+	private static final String VERSION = loadVersion();
+	private static final byte[] NO_BYTECODE = new byte[0];
+	private static final TestRule DISABLED = (base, description) -> base;
+
+	private static final ClassValue<byte[]> BYTECODE_DIGESTS = new ClassValue<byte[]>() {
+		@Override
+		protected byte[] computeValue(final Class<?> type) {
+			return digestBytecode(type);
+		}
+	};
+
+	private ResultCache() {
+	}
+
+	/**
+	 * Get a rule that skips a test method that passed before and records it
+	 * when it passes, if the cache is enabled in the {@link TestRunProfile}.
+	 * Skipped checks are reported as passed.
+	 * @param testClass The test class
+	 * @param testedClasses The classes tested by the test class
+	 */
+	static TestRule rule(final Class<?> testClass, final Class<?>... testedClasses) {
+		return rule(TestRunProfile.get(), testClass, testedClasses);
+	}
+
+	static TestRule rule(final TestRunProfile profile, final Class<?> testClass, final Class<?>... testedClasses) {
+		if (!profile.isResultCache()) {
+			return DISABLED;
+		}
+		return (base, description) -> new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				final Path resultFile = getResultFile(profile, description, testClass, testedClasses);
+				if (resultFile != null && Files.exists(resultFile)) {
+					LOG.info("Skipping {}: Passed before with unchanged classes", description.getDisplayName());
+					return;
+				}
+				base.evaluate();
+				if (resultFile != null) {
+					recordPassed(resultFile, description);
+				}
+			}
+		};
+	}
+
+	private static Path getResultFile(final TestRunProfile profile, final Description description, final Class<?> testClass, final Class<?>... testedClasses) {
+		final MessageDigest digest = newDigest();
+		update(digest, VERSION);
+		update(digest, System.getProperty("java.version"));
+		update(digest, profile.getCheckSettings());
+		update(digest, description.getDisplayName());
+		// explicitly seeded runs, e.g. to reproduce a failure, are distinct
+		update(digest, System.getProperty(testClass.getName() + ".seed"));
+		if (!updateFileContent(digest, profile.getLatencyBaselineFile())) {
+			return null;
+		}
+		if (!updateClassHierarchy(digest, testClass)) {
+			return null;
+		}
+		for (final Class<?> testedClass : testedClasses) {
+			if (!updateClassHierarchy(digest, testedClass)) {
+				return null;
+			}
+		}
+		return Paths.get(profile.getResultCacheDir(), toHex(digest.digest()));
+	}
+
+	private static boolean updateClassHierarchy(final MessageDigest digest, final Class<?> clazz) {
+		for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+			if (c.getClassLoader() != null) {
+				final byte[] bytecodeDigest = BYTECODE_DIGESTS.get(c);
+				if (bytecodeDigest == NO_BYTECODE) {
+					LOG.debug("Not caching results for {}: No bytecode found for {}", clazz.getName(), c.getName());
+					return false;
+				}
+				update(digest, c.getName());
+				digest.update(bytecodeDigest);
+			}
+		}
+		return true;
+	}
+
+	private static boolean updateFileContent(final MessageDigest digest, final String file) {
+		if (file == null || !Files.exists(Paths.get(file))) {
+			update(digest, null);
+			return true;
+		}
+		try {
+			digest.update(Files.readAllBytes(Paths.get(file)));
+			digest.update((byte) 0);
+			return true;
+		} catch (final IOException e) {
+			LOG.warn("Not caching results: Error reading {}", file, e);
+			return false;
+		}
+	}
+
+	private static byte[] digestBytecode(final Class<?> clazz) {
+		final String resourceName = clazz.getName().replace('.', '/') + ".class";
+		try (InputStream in = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+			if (in == null) {
+				return NO_BYTECODE;
+			}
+			final MessageDigest digest = newDigest();
+			final byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, n);
+			}
+			return digest.digest();
+		} catch (final IOException e) {
+			LOG.warn("Error reading bytecode of {}", clazz.getName(), e);
+			return NO_BYTECODE;
+		}
+	}
+
+	private static void recordPassed(final Path resultFile, final Description description) {
+		try {
+			Files.createDirectories(resultFile.getParent());
+			Files.write(resultFile, description.getDisplayName().getBytes(StandardCharsets.UTF_8));
+		} catch (final IOException e) {
+			LOG.warn("Error recording passed test {} in {}", description.getDisplayName(), resultFile, e);
+		}
+	}
+
+	private static String loadVersion() {
+		final Properties properties = new Properties();
+		try (InputStream in = ResultCache.class.getClassLoader().getResourceAsStream(VERSION_RESOURCE)) {
+			if (in != null) {
+				properties.load(in);
+			}
+		} catch (final IOException e) {
+			LOG.warn("Error reading {}", VERSION_RESOURCE, e);
+		}
+		return properties.getProperty("version", "unknown");
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(final MessageDigest digest, final String s) {
+		digest.update(String.valueOf(s).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static String toHex(final byte[] bytes) {
+		final StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (final byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Policy for the number of elements of generated arrays, collections and
+ * maps. Policies can be set per {@link TestValueFactory}, per container type
+ * and, in {@link BeanTestBase}, per bean property.
+ * <p>
+ * Example for mostly small, occasionally huge lists:
+ * <pre>
+ * setSizePolicy(List.class, SizePolicy.range(0, 10).withOccasional(SizePolicy.fixed(1_000_000), 0.01));
+ * </pre>
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+@FunctionalInterface
+public interface SizePolicy {
+	/** The default policy of 3 to 10 elements. */
+	SizePolicy DEFAULT = range(3, 10);
+
+	/**
+	 * Get the next size.
+	 * @param random Random values of the calling factory
+	 * @return The size, not negative
+	 */
+	int nextSize(LongSupplier random);
+
+	/**
+	 * Use the given policy with the given probability and this policy
+	 * otherwise.
+	 * @param rare The policy for the rare case, e.g. a huge size
+	 * @param probability The probability of the rare case from 0 to 1
+	 */
+	default SizePolicy withOccasional(final SizePolicy rare, final double probability) {
+		if (probability < 0 || probability > 1) {
+			throw new IllegalArgumentException("Invalid probability: " + probability);
+		}
+		return random -> nextDouble(random) < probability ? rare.nextSize(random) : nextSize(random);
+	}
+
+	/**
+	 * Always use the given size.
+	 */
+	static SizePolicy fixed(final int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Invalid size: " + size);
+		}
+		return random -> size;
+	}
+
+	/**
+	 * Use uniformly distributed sizes.
+	 * @param min The minimum size
+	 * @param max The maximum size, inclusive
+	 */
+	static SizePolicy range(final int min, final int max) {
+		if (min < 0 || max < min) {
+			throw new IllegalArgumentException("Invalid size range: " + min + " - " + max);
+		}
+		final long count = (long) max - min + 1;
+		return random -> {
+			// same sizes as earlier versions for the same random values
+			int n;
+			do {
+				n = (int) random.getAsLong();
+			} while (n == Integer.MAX_VALUE);
+			return (int) (Math.abs((long) n) % count + min);
+		};
+	}
+
+	/**
+	 * Use log-uniformly distributed sizes. Each order of magnitude is about
+	 * equally likely, so most sizes are small, while sizes close to the
+	 * maximum still occur, e.g. 1 in 6 sizes from 0 to 1,000,000 has more
+	 * than 100,000 elements.
+	 * @param min The minimum size
+	 * @param max The maximum size, inclusive
+	 */
+	static SizePolicy logUniform(final int min, final int max) {
+		if (min < 0 || max < min) {
+			throw new IllegalArgumentException("Invalid size range: " + min + " - " + max);
+		}
+		// shifted by one to support a minimum of 0
+		final double logMin = Math.log(min + 1.0);
+		final double logRange = Math.log(max + 2.0) - logMin;
+		return random -> {
+			final double size = Math.exp(logMin + nextDouble(random) * logRange) - 1;
+			return (int) Math.max(min, Math.min(max, Math.floor(size)));
+		};
+	}
+
+	/**
+	 * Get a uniformly distributed value from 0, inclusive, to 1, exclusive,
+	 * e.g. for custom policies.
+	 */
+	static double nextDouble(final LongSupplier random) {
+		return (random.getAsLong() >>> 11) * 0x1.0p-53;
+	}
+}
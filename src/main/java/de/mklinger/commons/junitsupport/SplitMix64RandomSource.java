@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+/**
+ * Counter based {@link RandomSource} using the SplitMix64 algorithm. The
+ * value at position <i>n</i> is a bijective mix of
+ * <code>seed + (n + 1) * GAMMA</code>, so jumping ahead and splitting are
+ * constant time operations. Not thread safe.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+public final class SplitMix64RandomSource implements RandomSource {
+	private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final long seed;
+	private long state;
+
+	public SplitMix64RandomSource(final long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	@Override
+	public long nextLong() {
+		state += GAMMA;
+		return mix(state);
+	}
+
+	@Override
+	public RandomSource split(final long streamId) {
+		return new SplitMix64RandomSource(mix(seed ^ mix(streamId * GAMMA + GAMMA)));
+	}
+
+	@Override
+	public void jump(final long count) {
+		state += count * GAMMA;
+	}
+
+	/** The SplitMix64 finalizer. */
+	private static long mix(final long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[seed=" + seed + ", state=" + state + "]";
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how many runs of a check are done. Runs are started until the
+ * maximum number of runs is reached or, if a time budget is given, until the
+ * next run is expected to exceed the budget. The expected cost of a run is the
+ * mean duration of the runs done so far, not counting warm-up runs. The
+ * minimum number of runs is always started. Thread safe.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class TestRunBudget {
+	private static final int WARM_UP_RUNS = 2;
+
+	private final long timeBudgetNanos;
+	private final int minRuns;
+	private final int maxRuns;
+	private final long start;
+	private final AtomicInteger runsDone = new AtomicInteger();
+	private final AtomicInteger measuredRuns = new AtomicInteger();
+	private final AtomicLong measuredNanos = new AtomicLong();
+
+	/**
+	 * @param timeBudgetMillis The time budget or 0 for no budget
+	 * @param minRuns The number of runs to do in any case
+	 * @param maxRuns The maximum number of runs
+	 */
+	TestRunBudget(final long timeBudgetMillis, final int minRuns, final int maxRuns) {
+		this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+		this.minRuns = Math.min(minRuns, maxRuns);
+		this.maxRuns = maxRuns;
+		this.start = System.nanoTime();
+	}
+
+	/**
+	 * Should the run with the given index be started?
+	 */
+	boolean isStartRun(final int runIndex) {
+		if (runIndex >= maxRuns) {
+			return false;
+		}
+		if (runIndex < minRuns || timeBudgetNanos <= 0) {
+			return true;
+		}
+		return System.nanoTime() - start + getMeanRunNanos() <= timeBudgetNanos;
+	}
+
+	/**
+	 * Record a finished run.
+	 * @param runIndex The run index
+	 * @param durationNanos The duration of the run
+	 */
+	void runDone(final int runIndex, final long durationNanos) {
+		runsDone.incrementAndGet();
+		if (runIndex >= WARM_UP_RUNS) {
+			measuredRuns.incrementAndGet();
+			measuredNanos.addAndGet(durationNanos);
+		}
+	}
+
+	/** Is the number of runs bounded by the time budget? */
+	boolean hasTimeBudget() {
+		return timeBudgetNanos > 0;
+	}
+
+	int getMaxRuns() {
+		return maxRuns;
+	}
+
+	int getRunsDone() {
+		return runsDone.get();
+	}
+
+	long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	/**
+	 * Get the mean duration of a run after warm-up.
+	 * @return The mean duration or 0 if no run was measured yet
+	 */
+	long getMeanRunNanos() {
+		final int runs = measuredRuns.get();
+		if (runs == 0) {
+			return 0;
+		}
+		return measuredNanos.get() / runs;
+	}
+}
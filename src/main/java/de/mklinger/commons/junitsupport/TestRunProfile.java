@@ -0,0 +1,482 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Suite-wide settings for the number of test runs and the time budget of a
+ * check. Settings are resolved once per JVM. For each setting the system
+ * property <code>junit-support.&lt;setting&gt;</code> is used if present.
+ * Otherwise the setting is looked up in the classpath resource
+ * <code>junit-support.properties</code> (see system property
+ * <code>junit-support.config</code>), first with the name of the active
+ * profile as prefix, then without prefix. The active profile is set with the
+ * setting <code>profile</code>.
+ * <p>
+ * Example <code>junit-support.properties</code>:
+ * </p>
+ * <pre>
+ * profile=ci
+ * dev.testRuns=1
+ * ci.maxTestRuns=20
+ * nightly.testRunsScale=100
+ * nightly.timeBudgetMillis=10000
+ * </pre>
+ * <p>
+ * Settings:
+ * </p>
+ * <ul>
+ * <li><code>testRuns</code>: Number of runs, overriding the number of runs of
+ * each test class</li>
+ * <li><code>testRunsScale</code>: Factor for the number of runs of each test
+ * class</li>
+ * <li><code>maxTestRuns</code>: Maximum number of runs</li>
+ * <li><code>timeBudgetMillis</code>: Maximum time for all runs of a check.
+ * No further runs are started after that time, but at least one run is
+ * done.</li>
+ * <li><code>adaptiveTimeBudgetMillis</code>: Time for all runs of a bean
+ * check in adaptive mode. If set, checks are run until the time is used up,
+ * independent of the number of runs of the test class, but at most
+ * <code>maxTestRuns</code> times.</li>
+ * <li><code>minTestRuns</code>: Minimum number of runs of a bean check in
+ * adaptive mode, default is 1</li>
+ * <li><code>exhaustiveDomainThreshold</code>: Maximum number of value
+ * combinations of beans with only boolean, byte and enum properties that are
+ * enumerated instead of sampled at random, default is 0 (disabled)</li>
+ * <li><code>resultCache</code>: Skip checks that passed before with
+ * unchanged classes and settings, default is <code>false</code></li>
+ * <li><code>resultCacheDir</code>: Directory of the result cache, default is
+ * <code>target/junit-support-cache</code></li>
+ * <li><code>timingsFile</code>: File to record the duration of each check
+ * in, default is none</li>
+ * <li><code>shardTimingsFile</code>: Timings file to balance shards with,
+ * read only and not the same as <code>timingsFile</code>, default is none
+ * (shards by class name)</li>
+ * <li><code>shardCount</code>: Number of shards to split suites into, see
+ * {@link TestShards}, default is 1</li>
+ * <li><code>shardIndex</code>: Index of the shard to run, from 0 to
+ * <code>shardCount - 1</code>, default is 0</li>
+ * <li><code>hashCodeSamples</code>: Number of distinct beans to check the
+ * hash code distribution of {@link BeanPerformanceTestBase} tests with,
+ * default is 0 (disabled)</li>
+ * <li><code>minHashCodeScore</code>: Minimum hash code distribution score
+ * from 0 to 1, default is 0.5</li>
+ * <li><code>minHashCodeSensitivity</code>: Minimum share of changes of a
+ * single property that change the hash code, default is 0.9</li>
+ * <li><code>allocationCalls</code>: Number of measured calls of equals,
+ * hashCode and getters in the allocation check of
+ * {@link BeanPerformanceTestBase} tests, default is 0 (disabled)</li>
+ * <li><code>maxHashCodeAllocatedBytes</code>: Maximum bytes allocated per
+ * hashCode call, default is 0</li>
+ * <li><code>maxEqualsAllocatedBytes</code>: Maximum bytes allocated per
+ * equals call, default is 0</li>
+ * <li><code>maxGetterAllocatedBytes</code>: Maximum bytes allocated per
+ * getter call, default is -1 (no limit)</li>
+ * <li><code>latencyBaselineFile</code>: File with the baseline latencies of
+ * equals, hashCode and toString, enables the latency check of
+ * {@link BeanPerformanceTestBase} tests, default is none</li>
+ * <li><code>latencyTolerance</code>: Maximum relative regression of the
+ * median latency against the baseline, default is 1 (twice the
+ * baseline)</li>
+ * <li><code>latencyRounds</code>: Number of measurement rounds with fresh
+ * beans in the latency check, default is 3</li>
+ * <li><code>latencyIterations</code>: Number of warm-up and of measured
+ * iterations per round in the latency check, default is 10</li>
+ * <li><code>updateLatencyBaseline</code>: Write the measured latencies to
+ * the baseline file, default is <code>false</code> (the file is never
+ * written and methods without baseline fail)</li>
+ * <li><code>complexityMaxSize</code>: Largest size of collection, map and
+ * array properties in the complexity check of {@link BeanPerformanceTestBase}
+ * tests, growing from 10 by factors of 10, default is 0 (disabled)</li>
+ * <li><code>maxComplexityExponent</code>: Maximum growth exponent of the
+ * latency of equals, hashCode and toString with the size of collection, map
+ * and array properties, default is 1.5</li>
+ * </ul>
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+public final class TestRunProfile {
+	private static final Logger LOG = LoggerFactory.getLogger(TestRunProfile.class);
+
+	private static final String PROPERTY_PREFIX = "junit-support.";
+	private static final String DEFAULT_CONFIG_RESOURCE = "junit-support.properties";
+	private static final String DEFAULT_RESULT_CACHE_DIR = "target/junit-support-cache";
+
+	private final String name;
+	private final int testRuns;
+	private final double testRunsScale;
+	private final int maxTestRuns;
+	private final long timeBudgetMillis;
+	private final long adaptiveTimeBudgetMillis;
+	private final int minTestRuns;
+	private final long exhaustiveDomainThreshold;
+	private final boolean resultCache;
+	private final String resultCacheDir;
+	private final String timingsFile;
+	private final String shardTimingsFile;
+	private final int shardCount;
+	private final int shardIndex;
+	private final int hashCodeSamples;
+	private final double minHashCodeScore;
+	private final double minHashCodeSensitivity;
+	private final int allocationCalls;
+	private final long maxHashCodeAllocatedBytes;
+	private final long maxEqualsAllocatedBytes;
+	private final long maxGetterAllocatedBytes;
+	private final String latencyBaselineFile;
+	private final double latencyTolerance;
+	private final int latencyRounds;
+	private final int latencyIterations;
+	private final boolean updateLatencyBaseline;
+	private final int complexityMaxSize;
+	private final double maxComplexityExponent;
+
+	private static class InstanceHolder {
+		private static final TestRunProfile INSTANCE = load();
+	}
+
+	private TestRunProfile(final Properties systemProperties, final Properties config) {
+		this.name = getSetting(systemProperties, config, null, "profile");
+		this.testRuns = Integer.parseInt(getSetting(systemProperties, config, name, "testRuns", "-1"));
+		this.testRunsScale = Double.parseDouble(getSetting(systemProperties, config, name, "testRunsScale", "1"));
+		this.maxTestRuns = Integer.parseInt(getSetting(systemProperties, config, name, "maxTestRuns", String.valueOf(Integer.MAX_VALUE)));
+		this.timeBudgetMillis = Long.parseLong(getSetting(systemProperties, config, name, "timeBudgetMillis", "0"));
+		this.adaptiveTimeBudgetMillis = Long.parseLong(getSetting(systemProperties, config, name, "adaptiveTimeBudgetMillis", "0"));
+		this.minTestRuns = Integer.parseInt(getSetting(systemProperties, config, name, "minTestRuns", "1"));
+		this.exhaustiveDomainThreshold = Long.parseLong(getSetting(systemProperties, config, name, "exhaustiveDomainThreshold", "0"));
+		this.resultCache = Boolean.parseBoolean(getSetting(systemProperties, config, name, "resultCache", "false"));
+		this.resultCacheDir = getSetting(systemProperties, config, name, "resultCacheDir", DEFAULT_RESULT_CACHE_DIR);
+		this.timingsFile = getSetting(systemProperties, config, name, "timingsFile");
+		this.shardTimingsFile = getSetting(systemProperties, config, name, "shardTimingsFile");
+		this.shardCount = Integer.parseInt(getSetting(systemProperties, config, name, "shardCount", "1"));
+		this.shardIndex = Integer.parseInt(getSetting(systemProperties, config, name, "shardIndex", "0"));
+		this.hashCodeSamples = Integer.parseInt(getSetting(systemProperties, config, name, "hashCodeSamples", "0"));
+		this.minHashCodeScore = Double.parseDouble(getSetting(systemProperties, config, name, "minHashCodeScore", "0.5"));
+		this.minHashCodeSensitivity = Double.parseDouble(getSetting(systemProperties, config, name, "minHashCodeSensitivity", "0.9"));
+		this.allocationCalls = Integer.parseInt(getSetting(systemProperties, config, name, "allocationCalls", "0"));
+		this.maxHashCodeAllocatedBytes = Long.parseLong(getSetting(systemProperties, config, name, "maxHashCodeAllocatedBytes", "0"));
+		this.maxEqualsAllocatedBytes = Long.parseLong(getSetting(systemProperties, config, name, "maxEqualsAllocatedBytes", "0"));
+		this.maxGetterAllocatedBytes = Long.parseLong(getSetting(systemProperties, config, name, "maxGetterAllocatedBytes", "-1"));
+		this.latencyBaselineFile = getSetting(systemProperties, config, name, "latencyBaselineFile");
+		this.latencyTolerance = Double.parseDouble(getSetting(systemProperties, config, name, "latencyTolerance", "1"));
+		this.latencyRounds = Integer.parseInt(getSetting(systemProperties, config, name, "latencyRounds", "3"));
+		this.latencyIterations = Integer.parseInt(getSetting(systemProperties, config, name, "latencyIterations", "10"));
+		this.updateLatencyBaseline = Boolean.parseBoolean(getSetting(systemProperties, config, name, "updateLatencyBaseline", "false"));
+		this.complexityMaxSize = Integer.parseInt(getSetting(systemProperties, config, name, "complexityMaxSize", "0"));
+		this.maxComplexityExponent = Double.parseDouble(getSetting(systemProperties, config, name, "maxComplexityExponent", "1.5"));
+		if (testRunsScale <= 0 || maxTestRuns < 1 || timeBudgetMillis < 0 || adaptiveTimeBudgetMillis < 0 || minTestRuns < 1 || exhaustiveDomainThreshold < 0
+				|| shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount || (shardTimingsFile != null && shardTimingsFile.equals(timingsFile))
+				|| hashCodeSamples < 0 || minHashCodeScore < 0 || minHashCodeScore > 1 || minHashCodeSensitivity < 0 || minHashCodeSensitivity > 1
+				|| allocationCalls < 0 || maxHashCodeAllocatedBytes < -1 || maxEqualsAllocatedBytes < -1 || maxGetterAllocatedBytes < -1
+				|| latencyTolerance < 0 || latencyRounds < 1 || latencyIterations < 1
+				|| complexityMaxSize < 0 || maxComplexityExponent <= 0) {
+			throw new IllegalArgumentException("Invalid test run profile: " + this);
+		}
+	}
+
+	/**
+	 * Get the profile of this JVM.
+	 */
+	public static TestRunProfile get() {
+		return InstanceHolder.INSTANCE;
+	}
+
+	/**
+	 * Create a profile from the given system properties and config file
+	 * contents.
+	 */
+	static TestRunProfile create(final Properties systemProperties, final Properties config) {
+		return new TestRunProfile(systemProperties, config);
+	}
+
+	private static TestRunProfile load() {
+		final Properties config = new Properties();
+		final String configResource = System.getProperty(PROPERTY_PREFIX + "config", DEFAULT_CONFIG_RESOURCE);
+		try (InputStream in = TestRunProfile.class.getClassLoader().getResourceAsStream(configResource)) {
+			if (in != null) {
+				config.load(in);
+			}
+		} catch (final IOException e) {
+			throw new IllegalStateException("Error reading " + configResource, e);
+		}
+		final TestRunProfile profile = new TestRunProfile(System.getProperties(), config);
+		LOG.info("Using {}", profile);
+		return profile;
+	}
+
+	private static String getSetting(final Properties systemProperties, final Properties config, final String profileName, final String key, final String defaultValue) {
+		final String value = getSetting(systemProperties, config, profileName, key);
+		return value != null ? value : defaultValue;
+	}
+
+	private static String getSetting(final Properties systemProperties, final Properties config, final String profileName, final String key) {
+		String value = systemProperties.getProperty(PROPERTY_PREFIX + key);
+		if (isEmpty(value) && profileName != null) {
+			value = config.getProperty(profileName + "." + key);
+		}
+		if (isEmpty(value)) {
+			value = config.getProperty(key);
+		}
+		return isEmpty(value) ? null : value.trim();
+	}
+
+	private static boolean isEmpty(final String s) {
+		return s == null || s.trim().isEmpty();
+	}
+
+	/**
+	 * Get the number of runs to do.
+	 * @param classTestRuns The number of runs chosen by the test class
+	 * @return The number of runs, at least 1
+	 */
+	public int getTestRuns(final int classTestRuns) {
+		long runs;
+		if (testRuns >= 0) {
+			runs = testRuns;
+		} else {
+			runs = Math.round(classTestRuns * testRunsScale);
+		}
+		runs = Math.min(runs, maxTestRuns);
+		return (int) Math.max(runs, 1);
+	}
+
+	/**
+	 * Get the time budget for all runs of a check.
+	 * @return The time budget in milliseconds or 0 for no budget
+	 */
+	public long getTimeBudgetMillis() {
+		return timeBudgetMillis;
+	}
+
+	/**
+	 * Get the maximum number of runs.
+	 * @return The maximum number of runs, {@link Integer#MAX_VALUE} if not
+	 *         set
+	 */
+	public int getMaxTestRuns() {
+		return maxTestRuns;
+	}
+
+	/**
+	 * Get the time budget for all runs of a check in adaptive mode.
+	 * @return The time budget in milliseconds or 0 if adaptive mode is not
+	 *         enabled
+	 */
+	public long getAdaptiveTimeBudgetMillis() {
+		return adaptiveTimeBudgetMillis;
+	}
+
+	/**
+	 * Get the minimum number of runs in adaptive mode.
+	 */
+	public int getMinTestRuns() {
+		return minTestRuns;
+	}
+
+	/**
+	 * Get the maximum number of value combinations to enumerate for beans with
+	 * small property domains.
+	 * @return The threshold or 0 if enumeration is disabled
+	 */
+	public long getExhaustiveDomainThreshold() {
+		return exhaustiveDomainThreshold;
+	}
+
+	/**
+	 * Should checks that passed before with unchanged classes be skipped?
+	 */
+	public boolean isResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * Get the directory of the result cache.
+	 */
+	public String getResultCacheDir() {
+		return resultCacheDir;
+	}
+
+	/**
+	 * Get the file to record check durations in.
+	 * @return The file name or <code>null</code> if timings are not recorded
+	 */
+	public String getTimingsFile() {
+		return timingsFile;
+	}
+
+	/**
+	 * Get the timings file to balance shards with. It is never written, so
+	 * all shards compute the same split while timings are recorded.
+	 * @return The file name or <code>null</code> to split by class name
+	 */
+	public String getShardTimingsFile() {
+		return shardTimingsFile;
+	}
+
+	/**
+	 * Get the number of shards to split suites into.
+	 */
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	/**
+	 * Get the index of the shard to run.
+	 */
+	public int getShardIndex() {
+		return shardIndex;
+	}
+
+	/**
+	 * Get the name of the active profile.
+	 * @return The name or <code>null</code>
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the number of distinct beans to check the hash code distribution
+	 * with.
+	 * @return The number of beans or 0 if the check is disabled
+	 */
+	public int getHashCodeSamples() {
+		return hashCodeSamples;
+	}
+
+	/**
+	 * Get the minimum hash code distribution score.
+	 */
+	public double getMinHashCodeScore() {
+		return minHashCodeScore;
+	}
+
+	/**
+	 * Get the minimum share of changes of a single property that change the
+	 * hash code.
+	 */
+	public double getMinHashCodeSensitivity() {
+		return minHashCodeSensitivity;
+	}
+
+	/**
+	 * Get the number of measured calls of each operation in the allocation
+	 * check.
+	 * @return The number of calls or 0 if the check is disabled
+	 */
+	public int getAllocationCalls() {
+		return allocationCalls;
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per hashCode call.
+	 * @return The number of bytes or -1 for no limit
+	 */
+	public long getMaxHashCodeAllocatedBytes() {
+		return maxHashCodeAllocatedBytes;
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per equals call.
+	 * @return The number of bytes or -1 for no limit
+	 */
+	public long getMaxEqualsAllocatedBytes() {
+		return maxEqualsAllocatedBytes;
+	}
+
+	/**
+	 * Get the maximum number of bytes allocated per getter call.
+	 * @return The number of bytes or -1 for no limit
+	 */
+	public long getMaxGetterAllocatedBytes() {
+		return maxGetterAllocatedBytes;
+	}
+
+	/**
+	 * Get the file with the baseline latencies of the latency check.
+	 * @return The file name or <code>null</code> if the check is disabled
+	 */
+	public String getLatencyBaselineFile() {
+		return latencyBaselineFile;
+	}
+
+	/**
+	 * Get the maximum relative regression of the median latency against the
+	 * baseline, e.g. 0.5 for 50% slower than the baseline.
+	 */
+	public double getLatencyTolerance() {
+		return latencyTolerance;
+	}
+
+	/**
+	 * Get the number of measurement rounds with fresh beans in the latency
+	 * check.
+	 */
+	public int getLatencyRounds() {
+		return latencyRounds;
+	}
+
+	/**
+	 * Get the number of warm-up and of measured iterations per round in the
+	 * latency check.
+	 */
+	public int getLatencyIterations() {
+		return latencyIterations;
+	}
+
+	/**
+	 * Should the measured latencies be written to the baseline file? If not,
+	 * the file is never written.
+	 */
+	public boolean isUpdateLatencyBaseline() {
+		return updateLatencyBaseline;
+	}
+
+	/**
+	 * Get the largest size of collection, map and array properties in the
+	 * complexity check.
+	 * @return The size or 0 if the check is disabled
+	 */
+	public int getComplexityMaxSize() {
+		return complexityMaxSize;
+	}
+
+	/**
+	 * Get the maximum growth exponent in the complexity check, e.g. 1 for
+	 * linear growth.
+	 */
+	public double getMaxComplexityExponent() {
+		return maxComplexityExponent;
+	}
+
+	/**
+	 * Get the settings that affect the outcome of checks, excluding settings
+	 * like the result cache or sharding.
+	 */
+	String getCheckSettings() {
+		return "testRuns=" + testRuns + ", testRunsScale=" + testRunsScale + ", maxTestRuns=" + maxTestRuns + ", timeBudgetMillis=" + timeBudgetMillis + ", adaptiveTimeBudgetMillis=" + adaptiveTimeBudgetMillis + ", minTestRuns=" + minTestRuns + ", exhaustiveDomainThreshold=" + exhaustiveDomainThreshold + ", hashCodeSamples=" + hashCodeSamples + ", minHashCodeScore=" + minHashCodeScore + ", minHashCodeSensitivity=" + minHashCodeSensitivity + ", allocationCalls=" + allocationCalls + ", maxHashCodeAllocatedBytes=" + maxHashCodeAllocatedBytes + ", maxEqualsAllocatedBytes=" + maxEqualsAllocatedBytes + ", maxGetterAllocatedBytes=" + maxGetterAllocatedBytes + ", latencyBaselineFile=" + latencyBaselineFile + ", latencyTolerance=" + latencyTolerance + ", latencyRounds=" + latencyRounds + ", latencyIterations=" + latencyIterations + ", updateLatencyBaseline=" + updateLatencyBaseline + ", complexityMaxSize=" + complexityMaxSize + ", maxComplexityExponent=" + maxComplexityExponent;
+	}
+
+	@Override
+	public String toString() {
+		return "TestRunProfile [name=" + name + ", testRuns=" + testRuns + ", testRunsScale=" + testRunsScale + ", maxTestRuns=" + maxTestRuns + ", timeBudgetMillis=" + timeBudgetMillis + ", adaptiveTimeBudgetMillis=" + adaptiveTimeBudgetMillis + ", minTestRuns=" + minTestRuns + ", exhaustiveDomainThreshold=" + exhaustiveDomainThreshold + ", resultCache=" + resultCache + ", resultCacheDir=" + resultCacheDir + ", timingsFile=" + timingsFile + ", shardTimingsFile=" + shardTimingsFile + ", shardCount=" + shardCount + ", shardIndex=" + shardIndex + ", hashCodeSamples=" + hashCodeSamples + ", minHashCodeScore=" + minHashCodeScore + ", minHashCodeSensitivity=" + minHashCodeSensitivity + ", allocationCalls=" + allocationCalls + ", maxHashCodeAllocatedBytes=" + maxHashCodeAllocatedBytes + ", maxEqualsAllocatedBytes=" + maxEqualsAllocatedBytes + ", maxGetterAllocatedBytes=" + maxGetterAllocatedBytes + ", latencyBaselineFile=" + latencyBaselineFile + ", latencyTolerance=" + latencyTolerance + ", latencyRounds=" + latencyRounds + ", latencyIterations=" + latencyIterations + ", updateLatencyBaseline=" + updateLatencyBaseline + ", complexityMaxSize=" + complexityMaxSize + ", maxComplexityExponent=" + maxComplexityExponent + "]";
+	}
+}
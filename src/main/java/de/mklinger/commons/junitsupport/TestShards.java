@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * Deterministic split of test classes into shards of similar cost. Classes
+ * with a recorded duration, see <code>shardTimingsFile</code> in
+ * {@link TestRunProfile}, are distributed longest first, each to the shard
+ * with the lowest total duration so far. Other classes are distributed by
+ * the hash of their name. All shards compute the same split from the same
+ * timings file, so it must not change during the run. Use a copy of the
+ * <code>timingsFile</code> of a previous run.
+ * <p>
+ * The {@link BeanScanSuite} runs only its shard if <code>shardCount</code>
+ * is set. Other suites can use {@link #filter(int)} or
+ * {@link #profileFilter()}, e.g. with
+ * {@link org.junit.runner.Request#filterWith(Filter)}.
+ * </p>
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+public final class TestShards {
+	private final int shardCount;
+	private final Map<String, Integer> shardsByClassName;
+	private final long[] shardMicros;
+
+	private TestShards(final Map<String, Long> classMicros, final int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("Invalid shard count: " + shardCount);
+		}
+		this.shardCount = shardCount;
+		this.shardsByClassName = new HashMap<>();
+		this.shardMicros = new long[shardCount];
+
+		final List<Map.Entry<String, Long>> entries = new ArrayList<>(classMicros.entrySet());
+		Collections.sort(entries, (e1, e2) -> {
+			final int c = Long.compare(e2.getValue(), e1.getValue());
+			return c != 0 ? c : e1.getKey().compareTo(e2.getKey());
+		});
+		for (final Map.Entry<String, Long> entry : entries) {
+			int shard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (shardMicros[i] < shardMicros[shard]) {
+					shard = i;
+				}
+			}
+			shardsByClassName.put(entry.getKey(), shard);
+			shardMicros[shard] += entry.getValue();
+		}
+	}
+
+	/**
+	 * Split classes with the given durations.
+	 * @param classMicros Duration in microseconds by class name
+	 * @param shardCount The number of shards
+	 */
+	public static TestShards of(final Map<String, Long> classMicros, final int shardCount) {
+		return new TestShards(classMicros, shardCount);
+	}
+
+	/**
+	 * Split classes with the durations recorded in the given timings file.
+	 * @param timingsFile The timings file. If it does not exist, all classes
+	 *        are distributed by the hash of their name.
+	 * @param shardCount The number of shards
+	 */
+	public static TestShards load(final Path timingsFile, final int shardCount) throws IOException {
+		return new TestShards(TestTimings.readClassMicros(timingsFile), shardCount);
+	}
+
+	/**
+	 * Get a filter for the shard configured in the {@link TestRunProfile}.
+	 */
+	public static Filter profileFilter() throws IOException {
+		return profileFilter(TestRunProfile.get());
+	}
+
+	static Filter profileFilter(final TestRunProfile profile) throws IOException {
+		final Map<String, Long> classMicros;
+		if (profile.getShardTimingsFile() != null) {
+			classMicros = TestTimings.readClassMicros(Paths.get(profile.getShardTimingsFile()));
+		} else {
+			classMicros = Collections.emptyMap();
+		}
+		return of(classMicros, profile.getShardCount()).filter(profile.getShardIndex());
+	}
+
+	/**
+	 * Get the shard of a class.
+	 * @param className The fully qualified class name
+	 * @return The shard index from 0 to <code>shardCount - 1</code>
+	 */
+	public int getShard(final String className) {
+		final Integer shard = shardsByClassName.get(className);
+		if (shard != null) {
+			return shard;
+		}
+		return Math.floorMod(className.hashCode(), shardCount);
+	}
+
+	/**
+	 * Get the recorded duration of all classes of a shard.
+	 * @return The duration in microseconds
+	 */
+	public long getShardMicros(final int shardIndex) {
+		return shardMicros[shardIndex];
+	}
+
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	/**
+	 * Get a filter that runs only the tests of classes in the given shard.
+	 */
+	public Filter filter(final int shardIndex) {
+		if (shardIndex < 0 || shardIndex >= shardCount) {
+			throw new IllegalArgumentException("Invalid shard index: " + shardIndex);
+		}
+		return new Filter() {
+			@Override
+			public boolean shouldRun(final Description description) {
+				if (description.isTest()) {
+					final String className = description.getClassName();
+					return getShard(className != null ? className : description.getDisplayName()) == shardIndex;
+				}
+				for (final Description child : description.getChildren()) {
+					if (shouldRun(child)) {
+						return true;
+					}
+				}
+				return false;
+			}
+
+			@Override
+			public String describe() {
+				return "shard " + shardIndex + " of " + shardCount;
+			}
+		};
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-present mklinger GmbH - http://www.mklinger.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.mklinger.commons.junitsupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the duration of each check, see {@link TestRunProfile}. Durations
+ * are collected per JVM and merged into the timings file on shutdown, so
+ * several forks can share the file. The file has a line
+ * <code>&lt;class&gt;#&lt;check&gt;=&lt;microseconds&gt;</code> per check
+ * and a line <code>&lt;class&gt;=&lt;microseconds&gt;</code> with the sum of
+ * the checks per test class. For the {@link BeanScanSuite}, the class is the
+ * tested class.
+ * @author Marc Klinger - mklinger[at]mklinger[dot]de
+ */
+final class TestTimings {
+	private static final Logger LOG = LoggerFactory.getLogger(TestTimings.class);
+
+	private static final char CHECK_SEPARATOR = '#';
+	private static final TestRule DISABLED = (base, description) -> base;
+	private static final ThreadLocal<long[]> SEPARATE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+	private final Path file;
+	private final ConcurrentMap<String, Long> checkMicros = new ConcurrentHashMap<>();
+
+	private static class InstanceHolder {
+		private static final TestTimings INSTANCE = create(TestRunProfile.get());
+	}
+
+	private TestTimings(final Path file) {
+		this.file = file;
+	}
+
+	private static TestTimings create(final TestRunProfile profile) {
+		if (profile.getTimingsFile() == null) {
+			return null;
+		}
+		final TestTimings timings = new TestTimings(Paths.get(profile.getTimingsFile()));
+		Runtime.getRuntime().addShutdownHook(new Thread(timings::write, "junit-support-timings"));
+		return timings;
+	}
+
+	/**
+	 * Get a rule that records the duration of each test method, if a timings
+	 * file is set in the {@link TestRunProfile}. Skipped test methods are not
+	 * recorded.
+	 */
+	static TestRule rule() {
+		final TestTimings timings = InstanceHolder.INSTANCE;
+		if (timings == null) {
+			return DISABLED;
+		}
+		return timings::apply;
+	}
+
+	private Statement apply(final Statement base, final Description description) {
+		return new Statement() {
+			@Override
+			public void evaluate() throws Throwable {
+				final long[] separateNanos = SEPARATE_NANOS.get();
+				final long separateStart = separateNanos[0];
+				final long start = System.nanoTime();
+				boolean skipped = false;
+				try {
+					base.evaluate();
+				} catch (final AssumptionViolatedException e) {
+					skipped = true;
+					throw e;
+				} finally {
+					if (!skipped) {
+						record(description, System.nanoTime() - start - (separateNanos[0] - separateStart));
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Run an action and record its duration as a check of its own, if a
+	 * timings file is set in the {@link TestRunProfile}. The duration is not
+	 * part of the duration of the test method running the action.
+	 */
+	static void runSeparately(final Description description, final Runnable action) {
+		final TestTimings timings = InstanceHolder.INSTANCE;
+		if (timings == null) {
+			action.run();
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			action.run();
+		} finally {
+			final long nanos = System.nanoTime() - start;
+			timings.record(description, nanos);
+			SEPARATE_NANOS.get()[0] += nanos;
+		}
+	}
+
+	private void record(final Description description, final long nanos) {
+		checkMicros.put(description.getClassName() + CHECK_SEPARATOR + description.getMethodName(), TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	/**
+	 * Merge the recorded durations into the timings file. Durations of checks
+	 * recorded in this JVM replace those in the file.
+	 */
+	private void write() {
+		if (checkMicros.isEmpty()) {
+			return;
+		}
+		try {
+			PropertiesFile.merge(file, entries -> {
+				final Map<String, Long> merged = new TreeMap<>();
+				for (final Map.Entry<String, Long> entry : parse(entries).entrySet()) {
+					if (entry.getKey().indexOf(CHECK_SEPARATOR) != -1) {
+						merged.put(entry.getKey(), entry.getValue());
+					}
+				}
+				merged.putAll(checkMicros);
+				return toEntries(merged);
+			});
+		} catch (final IOException | RuntimeException e) {
+			LOG.warn("Error writing timings file {}", file, e);
+		}
+	}
+
+	/**
+	 * Read the durations of all test classes from a timings file.
+	 * @return Microseconds by class name, empty if the file does not exist
+	 */
+	static Map<String, Long> readClassMicros(final Path file) throws IOException {
+		final Map<String, Long> classMicros = new TreeMap<>();
+		for (final Map.Entry<String, Long> entry : parse(PropertiesFile.read(file)).entrySet()) {
+			if (entry.getKey().indexOf(CHECK_SEPARATOR) == -1) {
+				classMicros.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return classMicros;
+	}
+
+	private static Map<String, Long> parse(final Map<String, String> entries) {
+		final Map<String, Long> micros = new TreeMap<>();
+		for (final Map.Entry<String, String> entry : entries.entrySet()) {
+			try {
+				micros.put(entry.getKey(), Long.parseLong(entry.getValue()));
+			} catch (final NumberFormatException e) {
+				LOG.warn("Ignoring invalid timing: {}={}", entry.getKey(), entry.getValue());
+			}
+		}
+		return micros;
+	}
+
+	/**
+	 * Format check durations sorted by name, followed by the sum per class.
+	 */
+	static String format(final Map<String, Long> checkMicros) {
+		return PropertiesFile.format(toEntries(checkMicros));
+	}
+
+	private static Map<String, String> toEntries(final Map<String, Long> checkMicros) {
+		final Map<String, Long> classMicros = new TreeMap<>();
+		for (final Map.Entry<String, Long> entry : checkMicros.entrySet()) {
+			final String className = entry.getKey().substring(0, entry.getKey().indexOf(CHECK_SEPARATOR));
+			classMicros.merge(className, entry.getValue(), Long::sum);
+		}
+		final Map<String, String> entries = new LinkedHashMap<>();
+		for (final Map.Entry<String, Long> entry : new TreeMap<>(checkMicros).entrySet()) {
+			entries.put(entry.getKey(), String.valueOf(entry.getValue()));
+		}
+		for (final Map.Entry<String, Long> entry : classMicros.entrySet()) {
+			entries.put(entry.getKey(), String.valueOf(entry.getValue()));
+		}
+		return entries;
+	}
+}
@@ -6,6 +6,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -13,9 +14,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
 
 import org.slf4j.Logger;
@@ -28,21 +33,50 @@ public class TestValueFactory {
 	private static final Logger LOG = LoggerFactory.getLogger(TestValueFactory.class);
 
 	private static final int TIME_MULT = 100000;
-	private static final int CREATED_ARRAY_MIN_LENGTH = 3;
-	private static final int CREATED_ARRAY_MAX_LENGTH = 10;
+	private static final Map<Class<?>, ValueGenerator> DEFAULT_VALUE_GENERATORS = createDefaultValueGenerators();
+	private static final ClassValue<Boolean> CREATE_VALUE_OVERRIDDEN = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			for (Class<?> c = type; c != TestValueFactory.class; c = c.getSuperclass()) {
+				for (final Method method : c.getDeclaredMethods()) {
+					if (method.getName().equals("createValue") && Arrays.equals(method.getParameterTypes(), new Class<?>[] { Type.class })) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	};
+
+	private static final long THREAD_STREAM_ID_BASE = 1L << 32;
 
+	private final RandomSource randomSource;
 	private final LongSupplier testValueGenerator;
+	private final AtomicInteger threadCount = new AtomicInteger();
+	private final ThreadLocal<RandomSource> threadStreams = ThreadLocal.withInitial(this::createThreadStream);
+	private final ThreadLocal<RandomSource> threadRandomSource = new ThreadLocal<>();
+	private final ThreadLocal<SizePolicy> threadOutermostSizePolicy = new ThreadLocal<>();
+	private final LongSupplier sizeRandom = this::getNextTestValue;
+	private final ConcurrentMap<Class<?>, SizePolicy> typeSizePolicies = new ConcurrentHashMap<>();
+	private volatile SizePolicy sizePolicy = SizePolicy.DEFAULT;
+	private final ConcurrentMap<Class<?>, ValueGenerator> valueGenerators = new ConcurrentHashMap<>(DEFAULT_VALUE_GENERATORS);
+	private final ConcurrentMap<Type, ValuePlan> valuePlans = new ConcurrentHashMap<>();
 
 	public TestValueFactory() {
 		this((String)null);
 	}
 
 	public TestValueFactory(final String seedPropertyName) {
-		final Random random = new Random(getSeed(seedPropertyName));
-		this.testValueGenerator = () -> random.nextLong();
+		this.randomSource = createRandomSource(getSeed(seedPropertyName));
+		this.testValueGenerator = null;
 	}
 
+	/**
+	 * Create a new test value factory using the given generator. The generator
+	 * does not need to be thread safe.
+	 */
 	public TestValueFactory(final LongSupplier testValueGenerator) {
+		this.randomSource = null;
 		this.testValueGenerator = testValueGenerator;
 	}
 
@@ -64,9 +98,292 @@ public class TestValueFactory {
 		return value;
 	}
 
-	/** Get the next test value. */
+	/**
+	 * Create the random source for the given seed. The default implementation
+	 * creates a {@link SplitMix64RandomSource}. This method is called from the
+	 * constructor and must not depend on the state of subclasses.
+	 * @param seed The seed
+	 * @return A new random source
+	 */
+	protected RandomSource createRandomSource(final long seed) {
+		return new SplitMix64RandomSource(seed);
+	}
+
+	/**
+	 * Get the next test value. Values are taken from the random source set for
+	 * the current thread, if any. Otherwise each thread uses its own stream
+	 * derived from the seed, so concurrent callers do not contend.
+	 */
 	protected long getNextTestValue() {
-		return testValueGenerator.getAsLong();
+		final RandomSource source = threadRandomSource.get();
+		if (source != null) {
+			return source.nextLong();
+		}
+		if (randomSource != null) {
+			return threadStreams.get().nextLong();
+		}
+		synchronized (testValueGenerator) {
+			return testValueGenerator.getAsLong();
+		}
+	}
+
+	private RandomSource createThreadStream() {
+		if (randomSource == null) {
+			return null;
+		}
+		// threads are numbered in order of first use, so a single thread
+		// always gets the same stream
+		return randomSource.split(THREAD_STREAM_ID_BASE + threadCount.getAndIncrement());
+	}
+
+	/** Create a test value of type <code>long</code> without boxing. */
+	protected long nextLong() {
+		return getNextTestValue();
+	}
+
+	/** Create a test value of type <code>int</code> without boxing. */
+	protected int nextInt() {
+		return (int) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>char</code> without boxing. */
+	protected char nextChar() {
+		return (char) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>short</code> without boxing. */
+	protected short nextShort() {
+		return (short) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>byte</code> without boxing. */
+	protected byte nextByte() {
+		return (byte) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>float</code> without boxing. */
+	protected float nextFloat() {
+		return (float) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>double</code> without boxing. */
+	protected double nextDouble() {
+		return (double) getNextTestValue();
+	}
+
+	/** Create a test value of type <code>boolean</code> without boxing. */
+	protected boolean nextBoolean() {
+		return (getNextTestValue() % 2) == 0;
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillLongArray(final long[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextLong();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillIntArray(final int[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextInt();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillCharArray(final char[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextChar();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillShortArray(final short[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextShort();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillByteArray(final byte[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextByte();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillFloatArray(final float[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextFloat();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillDoubleArray(final double[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextDouble();
+		}
+	}
+
+	/** Fill the given array with test values. */
+	protected void fillBooleanArray(final boolean[] array) {
+		for (int i = 0; i < array.length; i++) {
+			array[i] = nextBoolean();
+		}
+	}
+
+	/**
+	 * Create an independent random source for the given stream name. For
+	 * seeded factories the stream only depends on the seed and the stream
+	 * name, not on the order in which streams are created.
+	 */
+	RandomSource createStreamRandomSource(final String streamName) {
+		if (randomSource != null) {
+			return randomSource.split(streamName.hashCode());
+		}
+		return createRandomSource(getNextTestValue());
+	}
+
+	/**
+	 * Set the random source for the current thread. This allows independent,
+	 * reproducible value streams for concurrent test runs.
+	 * @param source The random source or <code>null</code> to use the default
+	 *        stream again
+	 */
+	void setThreadRandomSource(final RandomSource source) {
+		if (source == null) {
+			threadRandomSource.remove();
+		} else {
+			threadRandomSource.set(source);
+		}
+	}
+
+	/**
+	 * Create a test value whose outermost array, collection or map has the
+	 * given length. Values are created from a random source with the given
+	 * seed, so values created with the same seed are equal unless a generator
+	 * does not only depend on the random source.
+	 * @param type The type
+	 * @param length The length of the outermost array, collection or map
+	 * @param seed The seed for the values
+	 * @return The test value
+	 */
+	Object createValue(final Type type, final int length, final long seed) {
+		final RandomSource previousSource = threadRandomSource.get();
+		setThreadRandomSource(createRandomSource(seed));
+		try {
+			return createValue(type, SizePolicy.fixed(length));
+		} finally {
+			setThreadRandomSource(previousSource);
+		}
+	}
+
+	/**
+	 * Create a test value whose outermost array, collection or map size is
+	 * taken from the given policy. Nested arrays, collections and maps get
+	 * sizes from their usual policy.
+	 * @param type The type
+	 * @param outermostSizePolicy The size policy for the outermost array,
+	 *        collection or map
+	 * @return The test value
+	 */
+	Object createValue(final Type type, final SizePolicy outermostSizePolicy) {
+		threadOutermostSizePolicy.set(outermostSizePolicy);
+		try {
+			return createValue(type);
+		} finally {
+			threadOutermostSizePolicy.remove();
+		}
+	}
+
+	/**
+	 * Set the size policy for arrays, collections and maps of all types
+	 * without their own policy. Default is {@link SizePolicy#DEFAULT}.
+	 * @param sizePolicy The size policy
+	 */
+	protected void setSizePolicy(final SizePolicy sizePolicy) {
+		this.sizePolicy = Objects.requireNonNull(sizePolicy);
+		// compiled plans have resolved their size policy
+		valuePlans.clear();
+	}
+
+	/**
+	 * Set the size policy for arrays, collections or maps of the given type.
+	 * @param containerType The raw type, e.g. <code>List.class</code>,
+	 *        <code>Map.class</code> or <code>byte[].class</code>
+	 * @param sizePolicy The size policy or <code>null</code> to use the
+	 *        policy of the factory again
+	 */
+	protected void setSizePolicy(final Class<?> containerType, final SizePolicy sizePolicy) {
+		if (sizePolicy == null) {
+			typeSizePolicies.remove(containerType);
+		} else {
+			typeSizePolicies.put(containerType, sizePolicy);
+		}
+		valuePlans.clear();
+	}
+
+	private SizePolicy getSizePolicy(final Class<?> containerType) {
+		final SizePolicy typeSizePolicy = typeSizePolicies.get(containerType);
+		return typeSizePolicy != null ? typeSizePolicy : sizePolicy;
+	}
+
+	/**
+	 * Generator for test values of a raw type.
+	 */
+	@FunctionalInterface
+	public interface ValueGenerator {
+		/**
+		 * Create a test value.
+		 * @param factory The factory requesting the value
+		 * @param type The full type, possibly a parameterized type
+		 * @return The test value
+		 */
+		Object createValue(TestValueFactory factory, Type type);
+	}
+
+	/**
+	 * Compiled generation plan for a single type. Plans are bound to their
+	 * factory.
+	 */
+	@FunctionalInterface
+	private interface ValuePlan {
+		Object create();
+	}
+
+	/**
+	 * Register a generator for the given raw type. Registered generators
+	 * replace built-in generators for the same raw type.
+	 * @param rawType The raw type, e.g. <code>Integer.TYPE</code> or
+	 *        <code>List.class</code>
+	 * @param generator The generator
+	 */
+	protected void registerValueGenerator(final Class<?> rawType, final ValueGenerator generator) {
+		valueGenerators.put(rawType, generator);
+		// compiled plans may have inlined the previous generator
+		valuePlans.clear();
+	}
+
+	private static Map<Class<?>, ValueGenerator> createDefaultValueGenerators() {
+		final Map<Class<?>, ValueGenerator> generators = new HashMap<>();
+		putScalar(generators, Long.TYPE, Long.class, factory -> factory.nextLong());
+		putScalar(generators, Integer.TYPE, Integer.class, factory -> factory.nextInt());
+		putScalar(generators, Character.TYPE, Character.class, factory -> factory.nextChar());
+		putScalar(generators, Short.TYPE, Short.class, factory -> factory.nextShort());
+		putScalar(generators, Byte.TYPE, Byte.class, factory -> factory.nextByte());
+		putScalar(generators, Float.TYPE, Float.class, factory -> factory.nextFloat());
+		putScalar(generators, Double.TYPE, Double.class, factory -> factory.nextDouble());
+		putScalar(generators, Boolean.TYPE, Boolean.class, factory -> factory.nextBoolean());
+		generators.put(String.class, (factory, type) -> Long.toHexString(factory.getNextTestValue()));
+		generators.put(Date.class, (factory, type) -> new Date(System.currentTimeMillis() - factory.getNextTestValue() * TIME_MULT));
+		generators.put(Object.class, (factory, type) -> factory.createValue(String.class));
+		return generators;
+	}
+
+	private static void putScalar(final Map<Class<?>, ValueGenerator> generators, final Class<?> primitiveType, final Class<?> wrapperType, final Function<TestValueFactory, Object> generator) {
+		final ValueGenerator valueGenerator = (factory, type) -> generator.apply(factory);
+		generators.put(primitiveType, valueGenerator);
+		generators.put(wrapperType, valueGenerator);
 	}
 
 	/**
@@ -75,132 +392,251 @@ public class TestValueFactory {
 	 * @return The test value
 	 */
 	protected Object createValue(final Type type) {
-		Class<?> clazz = null;
-		ParameterizedType parameterizedType = null;
-		if (type instanceof Class<?>) {
-			clazz = (Class<?>) type;
-		} else if (type instanceof ParameterizedType) {
-			parameterizedType = (ParameterizedType) type;
-			final Type rawType = parameterizedType.getRawType();
-			if (rawType instanceof Class<?>) {
-				clazz = (Class<?>) rawType;
+		return getValuePlan(type).create();
+	}
+
+	/**
+	 * Get the compiled plan for the given type, compiling it on first use.
+	 */
+	private ValuePlan getValuePlan(final Type type) {
+		if (type == null) {
+			throw unsupportedType(type);
+		}
+		ValuePlan plan = valuePlans.get(type);
+		if (plan == null) {
+			// no computeIfAbsent() here, compiling recursively compiles element plans
+			plan = compileValuePlan(type);
+			final ValuePlan existingPlan = valuePlans.putIfAbsent(type, plan);
+			if (existingPlan != null) {
+				plan = existingPlan;
 			}
 		}
-		if (clazz != null && clazz.isArray()) {
-			final int len = createArrayLength();
-			final Object array = Array.newInstance(clazz.getComponentType(), len);
-			for (int i = 0; i < len; i++) {
-				Array.set(array, i, createValue(clazz.getComponentType()));
+		return plan;
+	}
+
+	/**
+	 * Resolve the given type into a tree of plans. Raw types and type arguments
+	 * are only inspected here, not when values are created.
+	 */
+	private ValuePlan compileValuePlan(final Type type) {
+		final Class<?> clazz = getRawType(type);
+		if (clazz == null) {
+			throw unsupportedType(type);
+		}
+		final ValueGenerator generator = valueGenerators.get(clazz);
+		if (generator != null) {
+			return () -> generator.createValue(this, type);
+		}
+		if (clazz.isArray()) {
+			final SizePolicy sizePolicy = getSizePolicy(clazz);
+			final Class<?> componentType = clazz.getComponentType();
+			if (componentType.isPrimitive() && isDefaultValueGenerator(componentType)) {
+				return compilePrimitiveArrayPlan(componentType, sizePolicy);
+			}
+			final ValuePlan componentPlan = getElementPlan(componentType);
+			if (componentType.isPrimitive()) {
+				return () -> {
+					final int len = createArrayLength(sizePolicy);
+					final Object array = Array.newInstance(componentType, len);
+					for (int i = 0; i < len; i++) {
+						Array.set(array, i, componentPlan.create());
+					}
+					return array;
+				};
 			}
-			return array;
-		} else if (clazz != null && clazz.isEnum()) {
-			try {
-				final Method valuesMethod = clazz.getMethod("values");
-				final Object[] values = (Object[]) valuesMethod.invoke(null);
-				final int n = createUnsignedInt();
-				return values[n % values.length];
-			} catch (final Exception e) {
-				// ignore
-				LOG.debug("Error getting enum value", e);
+			return () -> {
+				final Object[] array = (Object[]) Array.newInstance(componentType, createArrayLength(sizePolicy));
+				for (int i = 0; i < array.length; i++) {
+					array[i] = componentPlan.create();
+				}
+				return array;
+			};
+		}
+		if (clazz.isEnum()) {
+			final Object[] values = clazz.getEnumConstants();
+			if (values.length > 0) {
+				return () -> values[createUnsignedInt() % values.length];
 			}
-		} else if (parameterizedType != null && parameterizedType.getRawType() == Map.class) {
-			final Map<Object, Object> result = new HashMap<>();
-			final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+		} else if (clazz == Map.class) {
+			final Type[] actualTypeArguments = getActualTypeArguments(type);
 			if (actualTypeArguments.length != 2) {
 				throw new IllegalStateException("Have map with actualTypeArguments.length != 2");
 			}
-			final int len = createArrayLength();
-			for (int i = 0; i < len; i++) {
-				result.put(createValue(actualTypeArguments[0]), createValue(actualTypeArguments[1]));
-			}
-			return Collections.unmodifiableMap(result);
-		} else if (parameterizedType != null && parameterizedType.getRawType() == List.class) {
-			final List<Object> result = new ArrayList<>();
-			addValuesToCollection(result, parameterizedType);
-			return Collections.unmodifiableList(result);
-		} else if (parameterizedType != null && parameterizedType.getRawType() == Set.class) {
-			final Set<Object> result = new HashSet<>();
-			addValuesToCollection(result, parameterizedType);
-			return Collections.unmodifiableSet(result);
-		} else if (parameterizedType != null && parameterizedType.getRawType() == Collection.class) {
-			final Collection<Object> result = new HashSet<>();
-			addValuesToCollection(result, parameterizedType);
-			return Collections.unmodifiableCollection(result);
-		} else if (parameterizedType != null && parameterizedType.getRawType() == AtomicReference.class) {
-			final AtomicReference<Object> result = new AtomicReference<>();
-			final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-			if (actualTypeArguments.length != 1) {
-				throw new IllegalStateException("Have parameterizedType with actualTypeArguments.length != 1");
+			final ValuePlan keyPlan = getElementPlan(actualTypeArguments[0]);
+			final ValuePlan valuePlan = getElementPlan(actualTypeArguments[1]);
+			final SizePolicy sizePolicy = getSizePolicy(clazz);
+			return () -> {
+				final Map<Object, Object> result = new HashMap<>();
+				final int len = createArrayLength(sizePolicy);
+				for (int i = 0; i < len; i++) {
+					result.put(keyPlan.create(), valuePlan.create());
+				}
+				return Collections.unmodifiableMap(result);
+			};
+		} else if (clazz == List.class) {
+			final ValuePlan elementPlan = getSingleTypeArgumentPlan(type, "collection");
+			final SizePolicy sizePolicy = getSizePolicy(clazz);
+			return () -> {
+				final int len = createArrayLength(sizePolicy);
+				return Collections.unmodifiableList(addValuesToCollection(new ArrayList<>(len), len, elementPlan));
+			};
+		} else if (clazz == Set.class) {
+			final ValuePlan elementPlan = getSingleTypeArgumentPlan(type, "collection");
+			final SizePolicy sizePolicy = getSizePolicy(clazz);
+			return () -> Collections.unmodifiableSet(addValuesToCollection(new HashSet<>(), createArrayLength(sizePolicy), elementPlan));
+		} else if (clazz == Collection.class) {
+			final ValuePlan elementPlan = getSingleTypeArgumentPlan(type, "collection");
+			final SizePolicy sizePolicy = getSizePolicy(clazz);
+			return () -> Collections.unmodifiableCollection(addValuesToCollection(new HashSet<>(), createArrayLength(sizePolicy), elementPlan));
+		} else if (clazz == AtomicReference.class) {
+			final ValuePlan valuePlan = getSingleTypeArgumentPlan(type, "parameterizedType");
+			return () -> new AtomicReference<>(valuePlan.create());
+		}
+		throw unsupportedType(type);
+	}
+
+	/**
+	 * Compile a plan for a primitive array that is filled without boxing or
+	 * reflective element access.
+	 */
+	private ValuePlan compilePrimitiveArrayPlan(final Class<?> componentType, final SizePolicy sizePolicy) {
+		if (componentType == Long.TYPE) {
+			return () -> {
+				final long[] array = new long[createArrayLength(sizePolicy)];
+				fillLongArray(array);
+				return array;
+			};
+		} else if (componentType == Integer.TYPE) {
+			return () -> {
+				final int[] array = new int[createArrayLength(sizePolicy)];
+				fillIntArray(array);
+				return array;
+			};
+		} else if (componentType == Character.TYPE) {
+			return () -> {
+				final char[] array = new char[createArrayLength(sizePolicy)];
+				fillCharArray(array);
+				return array;
+			};
+		} else if (componentType == Short.TYPE) {
+			return () -> {
+				final short[] array = new short[createArrayLength(sizePolicy)];
+				fillShortArray(array);
+				return array;
+			};
+		} else if (componentType == Byte.TYPE) {
+			return () -> {
+				final byte[] array = new byte[createArrayLength(sizePolicy)];
+				fillByteArray(array);
+				return array;
+			};
+		} else if (componentType == Float.TYPE) {
+			return () -> {
+				final float[] array = new float[createArrayLength(sizePolicy)];
+				fillFloatArray(array);
+				return array;
+			};
+		} else if (componentType == Double.TYPE) {
+			return () -> {
+				final double[] array = new double[createArrayLength(sizePolicy)];
+				fillDoubleArray(array);
+				return array;
+			};
+		} else if (componentType == Boolean.TYPE) {
+			return () -> {
+				final boolean[] array = new boolean[createArrayLength(sizePolicy)];
+				fillBooleanArray(array);
+				return array;
+			};
+		}
+		throw new IllegalArgumentException("Not a primitive type: " + componentType);
+	}
+
+	/**
+	 * Check whether values of the given type are created by the built-in
+	 * generator, i.e. neither a registered generator nor an override of
+	 * {@link #createValue(Type)} replaces it.
+	 */
+	private boolean isDefaultValueGenerator(final Class<?> type) {
+		return valueGenerators.get(type) == DEFAULT_VALUE_GENERATORS.get(type) && !CREATE_VALUE_OVERRIDDEN.get(getClass());
+	}
+
+	private ValuePlan getSingleTypeArgumentPlan(final Type type, final String kind) {
+		final Type[] actualTypeArguments = getActualTypeArguments(type);
+		if (actualTypeArguments.length != 1) {
+			throw new IllegalStateException("Have " + kind + " with actualTypeArguments.length != 1");
+		}
+		return getElementPlan(actualTypeArguments[0]);
+	}
+
+	/**
+	 * Get the plan for element, key, value or component values. If a subclass
+	 * overrides {@link #createValue(Type)}, element values must still be
+	 * created by the override, so the plan only delegates to it.
+	 */
+	private ValuePlan getElementPlan(final Type elementType) {
+		if (CREATE_VALUE_OVERRIDDEN.get(getClass())) {
+			return () -> createValue(elementType);
+		}
+		return getValuePlan(elementType);
+	}
+
+	private UnsupportedOperationException unsupportedType(final Type type) {
+		return new UnsupportedOperationException("Test " + getClass() + " must override createValue(Type type) and return a value for type " + type);
+	}
+
+	private static Class<?> getRawType(final Type type) {
+		if (type instanceof Class<?>) {
+			return (Class<?>) type;
+		} else if (type instanceof ParameterizedType) {
+			final Type rawType = ((ParameterizedType) type).getRawType();
+			if (rawType instanceof Class<?>) {
+				return (Class<?>) rawType;
 			}
-			result.set(createValue(actualTypeArguments[0]));
-			return result;
-		} else if (type == Long.TYPE || type == Long.class) {
-			return getNextTestValue();
-		} else if (type == Integer.TYPE || type == Integer.class) {
-			return (int) getNextTestValue();
-		} else if (type == Character.TYPE || type == Character.class) {
-			return (char) getNextTestValue();
-		} else if (type == Short.TYPE || type == Short.class) {
-			return (short) getNextTestValue();
-		} else if (type == Byte.TYPE || type == Byte.class) {
-			return (byte) getNextTestValue();
-		} else if (type == Float.TYPE || type == Float.class) {
-			return (float) getNextTestValue();
-		} else if (type == Double.TYPE || type == Double.class) {
-			return (double) getNextTestValue();
-		} else if (type == Boolean.TYPE || type == Boolean.class) {
-			return (getNextTestValue() % 2) == 0;
-		} else if (type == String.class) {
-			return Long.toHexString(getNextTestValue());
-		} else if (type == Date.class) {
-			return new Date(System.currentTimeMillis() - getNextTestValue() * TIME_MULT);
-		} else if (type == Object.class) {
-			return createValue(String.class);
-		}
-		throw new UnsupportedOperationException("Test " + getClass() + " must override createValue(Type type) and return a value for type " + type);
-	}
-
-	private int createArrayLength() {
-		return createUnsignedInt(CREATED_ARRAY_MIN_LENGTH, CREATED_ARRAY_MAX_LENGTH);
+		}
+		return null;
+	}
+
+	private Type[] getActualTypeArguments(final Type type) {
+		if (!(type instanceof ParameterizedType)) {
+			throw unsupportedType(type);
+		}
+		return ((ParameterizedType) type).getActualTypeArguments();
+	}
+
+	/**
+	 * Get the size of an array, collection or map. The outermost size policy
+	 * of the current thread, if any, takes precedence and is only used once.
+	 */
+	private int createArrayLength(final SizePolicy sizePolicy) {
+		SizePolicy policy = sizePolicy;
+		final SizePolicy outermostSizePolicy = threadOutermostSizePolicy.get();
+		if (outermostSizePolicy != null) {
+			// only for the outermost value, nested values get their usual size
+			threadOutermostSizePolicy.remove();
+			policy = outermostSizePolicy;
+		}
+		final int size = policy.nextSize(sizeRandom);
+		if (size < 0) {
+			throw new IllegalStateException("Size policy " + policy + " returned negative size " + size);
+		}
+		return size;
 	}
 
 	private int createUnsignedInt() {
 		int n;
 		do {
-			n = (int) createValue(Integer.TYPE);
+			n = nextInt();
 		} while (n == Integer.MAX_VALUE);
 		n = Math.abs(n);
 		assert n >= 0;
 		return n;
 	}
 
-	private int createUnsignedInt(final int max) {
-		assert max >= 0;
-		final int n = createUnsignedInt() % (max + 1);
-		assert n >= 0;
-		assert n <= max;
-		return n;
-	}
-
-	private int createUnsignedInt(final int min, final int max) {
-		assert min >= 0;
-		assert max >= 0;
-		assert min <= max;
-		final int n = createUnsignedInt(max - min) + min;
-		assert n >= 0;
-		assert n >= min;
-		assert n <= max;
-		return n;
-	}
-
-	private void addValuesToCollection(final Collection<Object> result, final ParameterizedType parameterizedType) {
-		final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-		if (actualTypeArguments.length != 1) {
-			throw new IllegalStateException("Have collection with actualTypeArguments.length != 1");
-		}
-		final int len = createArrayLength();
+	private <C extends Collection<Object>> C addValuesToCollection(final C result, final int len, final ValuePlan elementPlan) {
 		for (int i = 0; i < len; i++) {
-			result.add(createValue(actualTypeArguments[0]));
+			result.add(elementPlan.create());
 		}
+		return result;
 	}
 }
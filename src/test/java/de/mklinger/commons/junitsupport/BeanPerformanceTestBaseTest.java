@@ -0,0 +1,156 @@
+package de.mklinger.commons.junitsupport;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.rules.TemporaryFolder;
+
+public class BeanPerformanceTestBaseTest {
+	private static Path latencyBaselineFile;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	public static class TestBean1PerformanceTest extends BeanPerformanceTestBase<TestBean1> {
+		public TestBean1PerformanceTest() {
+			super(TestBean1.class);
+		}
+	}
+
+	public static class TestBean1MissingLatencyBaselineTest extends BeanPerformanceTestBase<TestBean1> {
+		public TestBean1MissingLatencyBaselineTest() {
+			super(TestBean1.class);
+		}
+
+		@Override
+		protected String getLatencyBaselineFile() {
+			return latencyBaselineFile == null ? null : latencyBaselineFile.toString();
+		}
+
+		@Override
+		protected int getLatencyIterations() {
+			return 3;
+		}
+	}
+
+	public static class ListBean {
+		private List<String> items;
+
+		public ListBean() {
+		}
+
+		public ListBean(final List<String> items) {
+			this.items = items;
+		}
+
+		public List<String> getItems() {
+			return items;
+		}
+
+		public void setItems(final List<String> items) {
+			this.items = items;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof ListBean && Objects.equals(items, ((ListBean) obj).items);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(items);
+		}
+	}
+
+	public static class ListBeanComplexityTest extends BeanPerformanceTestBase<ListBean> {
+		public ListBeanComplexityTest() {
+			super(ListBean.class);
+		}
+
+		@Override
+		protected ConstructorParameters[] getConstructorParameters() {
+			return new ConstructorParameters[] {
+					new ConstructorParameters(new Class[] { List.class }, new String[] { "items" }),
+					DEFAULT_CONSTRUCTOR_PARAMETERS
+			};
+		}
+
+		@Override
+		protected int getComplexityMaxSize() {
+			return 100;
+		}
+
+		@Override
+		protected double getMaxComplexityExponent() {
+			return 10;
+		}
+	}
+
+	@Test
+	public void testDisabledChecksSkipped() {
+		final Set<String> skipped = new TreeSet<>();
+		final JUnitCore core = new JUnitCore();
+		core.addListener(new RunListener() {
+			@Override
+			public void testAssumptionFailure(final Failure failure) {
+				skipped.add(failure.getDescription().getMethodName());
+			}
+		});
+		final Result result = core.run(TestBean1PerformanceTest.class);
+		Assert.assertTrue(String.valueOf(result.getFailures()), result.wasSuccessful());
+		final Set<String> expected = new TreeSet<>();
+		expected.add("hashCodeDistributionTest");
+		expected.add("hashCodeSensitivityTest");
+		expected.add("allocationTest");
+		expected.add("latencyTest");
+		expected.add("complexityTest");
+		Assert.assertEquals(expected, skipped);
+	}
+
+	@Test
+	public void testMissingLatencyBaselineFails() throws Exception {
+		final String content = "de.mklinger.commons.junitsupport.TestBean1#equals=1000000\n";
+		latencyBaselineFile = temporaryFolder.newFile().toPath();
+		Files.write(latencyBaselineFile, content.getBytes(StandardCharsets.UTF_8));
+		try {
+			final Result result = new JUnitCore().run(TestBean1MissingLatencyBaselineTest.class);
+			Assert.assertEquals(1, result.getFailureCount());
+			final Failure failure = result.getFailures().get(0);
+			Assert.assertEquals("latencyTest", failure.getDescription().getMethodName());
+			Assert.assertTrue(failure.getMessage(), failure.getMessage().contains("TestBean1#hashCode"));
+			LatencyBaseline.forFile(latencyBaselineFile).write();
+			Assert.assertEquals(content, new String(Files.readAllBytes(latencyBaselineFile), StandardCharsets.UTF_8));
+		} finally {
+			latencyBaselineFile = null;
+		}
+	}
+
+	@Test
+	public void testComplexityOfLaterConstructor() {
+		final Set<String> skipped = new TreeSet<>();
+		final JUnitCore core = new JUnitCore();
+		core.addListener(new RunListener() {
+			@Override
+			public void testAssumptionFailure(final Failure failure) {
+				skipped.add(failure.getDescription().getMethodName());
+			}
+		});
+		final Result result = core.run(Request.method(ListBeanComplexityTest.class, "complexityTest"));
+		Assert.assertTrue(String.valueOf(result.getFailures()), result.wasSuccessful());
+		Assert.assertEquals(1, result.getRunCount());
+		Assert.assertTrue(String.valueOf(skipped), skipped.isEmpty());
+	}
+}
@@ -0,0 +1,92 @@
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * Runs {@link BeanScanSuiteTest} and checks what it found and how it ran.
+ */
+public class BeanScanSuiteRunTest {
+	/**
+	 * Bean with a setter property, but a field without setter the default
+	 * test value factory can not create values for. Not tested by the scan.
+	 */
+	public static class UnfillableFieldBean {
+		private String name;
+		private Runnable callback;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		public Runnable getCallback() {
+			return callback;
+		}
+	}
+
+	@Test
+	public void testScan() {
+		final Request request = Request.aClass(BeanScanSuiteTest.class);
+
+		final Map<String, Set<String>> methodsByClass = new TreeMap<>();
+		int testCount = 0;
+		for (final Description child : request.getRunner().getDescription().getChildren()) {
+			final Set<String> methods = new TreeSet<>();
+			for (final Description method : child.getChildren()) {
+				Assert.assertEquals(child.getDisplayName(), method.getClassName());
+				methods.add(method.getMethodName());
+				testCount++;
+			}
+			methodsByClass.put(child.getDisplayName(), methods);
+		}
+		final Map<String, Set<String>> expected = new TreeMap<>();
+		expected.put(TestBean1.class.getName(), getTestMethodNames(BeanScanSuite.BeanTest.class));
+		expected.put(TestBean10.class.getName(), getTestMethodNames(BeanScanSuite.BeanTest.class));
+		expected.put(TestException1.class.getName(), getTestMethodNames(BeanScanSuite.ExceptionTest.class));
+		expected.put(InterfaceDelegateClass.class.getName(), getTestMethodNames(BeanScanSuite.DelegateTest.class));
+		Assert.assertEquals(expected, methodsByClass);
+
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		final JUnitCore core = new JUnitCore();
+		core.addListener(new RunListener() {
+			@Override
+			public void testStarted(final Description description) {
+				threads.add(Thread.currentThread());
+			}
+		});
+		final Result result = core.run(request);
+		Assert.assertTrue(String.valueOf(result.getFailures()), result.wasSuccessful());
+		Assert.assertEquals(testCount, result.getRunCount());
+		Assert.assertFalse(threads.isEmpty());
+		for (final Thread thread : threads) {
+			Assert.assertTrue(thread.getName(), thread instanceof ForkJoinWorkerThread);
+		}
+	}
+
+	private static Set<String> getTestMethodNames(final Class<?> testClass) {
+		final Set<String> names = new TreeSet<>();
+		for (final Method method : testClass.getMethods()) {
+			if (method.isAnnotationPresent(Test.class)) {
+				names.add(method.getName());
+			}
+		}
+		return names;
+	}
+}
@@ -0,0 +1,8 @@
+package de.mklinger.commons.junitsupport;
+
+import org.junit.runner.RunWith;
+
+@RunWith(BeanScanSuite.class)
+@BeanScanSuite.Scan(include = ".*\\.(TestBean1|TestBean10|TestException1|InterfaceDelegateClass|BeanScanSuiteRunTest\\$UnfillableFieldBean)", parallelism = 4)
+public class BeanScanSuiteTest {
+}
@@ -0,0 +1,82 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanTestBaseAdaptiveTest {
+	private static final long TIME_BUDGET_MILLIS = 50;
+	private static final int MIN_TEST_RUNS = 3;
+	private static final long SLOW_SETTER_MILLIS = 30;
+
+	/** Bean counting the runs of the property check, one setter call per run. */
+	public static class CountingBean {
+		private static final AtomicInteger SETTER_CALLS = new AtomicInteger();
+		private static volatile long setterMillis;
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) throws InterruptedException {
+			SETTER_CALLS.incrementAndGet();
+			if (setterMillis > 0) {
+				Thread.sleep(setterMillis);
+			}
+			this.name = name;
+		}
+	}
+
+	public static class CountingBeanTest extends BeanTestBase<CountingBean> {
+		public CountingBeanTest() {
+			super(CountingBean.class, 7);
+		}
+	}
+
+	public static class CountingBeanAdaptiveTest extends CountingBeanTest {
+		@Override
+		protected long getAdaptiveTimeBudgetMillis() {
+			return TIME_BUDGET_MILLIS;
+		}
+
+		@Override
+		protected int getMinTestRuns() {
+			return MIN_TEST_RUNS;
+		}
+	}
+
+	@Test
+	public void testFixedRuns() throws Exception {
+		Assert.assertEquals(TestRunProfile.get().getTestRuns(7), countRuns(new CountingBeanTest(), 0));
+	}
+
+	@Test
+	public void testCheapBeanGetsMoreRuns() throws Exception {
+		final int runs = countRuns(new CountingBeanAdaptiveTest(), 0);
+		Assert.assertTrue("Runs: " + runs, runs > TestRunProfile.get().getTestRuns(7));
+	}
+
+	@Test
+	public void testBudgetStopsRuns() throws Exception {
+		final long start = System.nanoTime();
+		final int runs = countRuns(new CountingBeanAdaptiveTest(), SLOW_SETTER_MILLIS);
+		final long millis = (System.nanoTime() - start) / 1_000_000;
+		// the minimum runs alone exceed the budget
+		Assert.assertEquals(MIN_TEST_RUNS, runs);
+		Assert.assertTrue("Took " + millis + " ms", millis < MIN_TEST_RUNS * SLOW_SETTER_MILLIS + 1000);
+	}
+
+	private static int countRuns(final CountingBeanTest test, final long setterMillis) throws Exception {
+		CountingBean.setterMillis = setterMillis;
+		try {
+			final int before = CountingBean.SETTER_CALLS.get();
+			test.propertyTestForAllConstructors();
+			return CountingBean.SETTER_CALLS.get() - before;
+		} finally {
+			CountingBean.setterMillis = 0;
+		}
+	}
+}
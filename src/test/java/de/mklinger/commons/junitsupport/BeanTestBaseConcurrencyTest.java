@@ -0,0 +1,112 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the test methods of a single test instance concurrently.
+ */
+public class BeanTestBaseConcurrencyTest {
+	private static final int ROUNDS = 5;
+
+	@FunctionalInterface
+	private interface Check {
+		void run() throws Exception;
+	}
+
+	private static List<Check> getChecks(final BeanTestBase<?> test) {
+		final List<Check> checks = new ArrayList<>();
+		checks.add(test::propertyTestForAllConstructors);
+		checks.add(test::copyConstructorEqualsTest);
+		checks.add(test::copyConstructorValuesTest);
+		checks.add(test::copyConstructorEmptyEqualsTest);
+		checks.add(test::copyConstructorEmptyValuesTest);
+		checks.add(test::toStringTestForAllConstructorsEmpty);
+		checks.add(test::toStringTestForAllConstructorsFilled);
+		checks.add(test::equalsIdentityTest);
+		checks.add(test::equalsValuesTest);
+		checks.add(test::hashCodeTest);
+		return checks;
+	}
+
+	@Test
+	public void testConcurrentChecks() throws Exception {
+		// constructor property values are cached per thread and run
+		final TestBean1Test test = new TestBean1Test();
+		for (final Throwable failure : runConcurrently(getChecks(test))) {
+			if (failure != null) {
+				throw new AssertionError("Check failed when run concurrently", failure);
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentFailure() throws Exception {
+		// only equals (values) fails, and only with its own replay info
+		final TestBean5Test test = new TestBean5Test();
+		final List<Check> checks = new ArrayList<>();
+		checks.add(test::equalsValuesTest);
+		checks.add(test::toStringTestForAllConstructorsFilled);
+		checks.add(test::equalsIdentityTest);
+		checks.add(test::toStringTestForAllConstructorsEmpty);
+		final List<Throwable> failures = runConcurrently(checks);
+		for (int i = 0; i < failures.size(); i++) {
+			final Throwable failure = failures.get(i);
+			if (i % checks.size() == 0) {
+				Assert.assertTrue(String.valueOf(failure), failure instanceof AssertionError);
+				Assert.assertTrue(failure.getMessage(), failure.getMessage().contains(".replay=EQUALS_VALUES:"));
+			} else if (failure != null) {
+				throw new AssertionError("Passing check failed when run concurrently", failure);
+			}
+		}
+	}
+
+	/**
+	 * Run all checks {@value #ROUNDS} times, all at the same time.
+	 * @return The failure of each check execution or <code>null</code>, in
+	 *         the order of the checks per round
+	 */
+	private static List<Throwable> runConcurrently(final List<Check> checks) throws InterruptedException {
+		final int tasks = checks.size() * ROUNDS;
+		final ExecutorService executor = Executors.newFixedThreadPool(tasks);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < tasks; i++) {
+				final Check check = checks.get(i % checks.size());
+				final Callable<Void> task = () -> {
+					start.await();
+					check.run();
+					return null;
+				};
+				futures.add(executor.submit(task));
+			}
+			start.countDown();
+			final List<Throwable> failures = new ArrayList<>();
+			for (final Future<Void> future : futures) {
+				try {
+					future.get(1, TimeUnit.MINUTES);
+					failures.add(null);
+				} catch (final ExecutionException e) {
+					failures.add(e.getCause());
+				} catch (final TimeoutException e) {
+					failures.add(e);
+				}
+			}
+			return failures;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanTestBaseParallelTest {
+	private static final String SEED = "4242";
+	private static final int TEST_RUNS = 20;
+	private static final int PARALLELISM = 4;
+	private static final String REPLAY_PROPERTY_NAME = TestBean5Test.class.getName() + ".replay";
+	private static final String REPLAY_PREFIX = ".replay=";
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+
+	/** Bean recording the values it is filled with. */
+	public static class RecordingBean {
+		private static final Queue<String> NAMES = new ConcurrentLinkedQueue<>();
+		private static final Set<Thread> THREADS = ConcurrentHashMap.newKeySet();
+		/** Holds the first setter calls back until two threads arrived, if set. */
+		private static volatile CountDownLatch rendezvous;
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			NAMES.add(String.valueOf(name));
+			final CountDownLatch latch = rendezvous;
+			if (THREADS.add(Thread.currentThread()) && latch != null) {
+				latch.countDown();
+				try {
+					latch.await(10, TimeUnit.SECONDS);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			this.name = name;
+		}
+	}
+
+	public static class RecordingBeanTest extends BeanTestBase<RecordingBean> {
+		public RecordingBeanTest() {
+			super(RecordingBean.class, TEST_RUNS);
+		}
+	}
+
+	public static class RecordingBeanParallelTest extends RecordingBeanTest {
+		@Override
+		protected Executor getTestRunExecutor() {
+			return POOL;
+		}
+	}
+
+	public static class TestBean5ParallelTest extends TestBean5Test {
+		@Override
+		protected Executor getTestRunExecutor() {
+			return POOL;
+		}
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(RecordingBeanTest.class.getName() + ".seed");
+		System.clearProperty(RecordingBeanParallelTest.class.getName() + ".seed");
+		System.clearProperty(REPLAY_PROPERTY_NAME);
+		RecordingBean.rendezvous = null;
+	}
+
+	@Test
+	public void testSameValuesAsSequential() throws Exception {
+		System.setProperty(RecordingBeanTest.class.getName() + ".seed", SEED);
+		System.setProperty(RecordingBeanParallelTest.class.getName() + ".seed", SEED);
+
+		final List<String> sequentialNames = getNames(new RecordingBeanTest());
+		Assert.assertEquals(1, RecordingBean.THREADS.size());
+
+		RecordingBean.rendezvous = new CountDownLatch(2);
+		final List<String> parallelNames = getNames(new RecordingBeanParallelTest());
+		Assert.assertTrue("Expected runs on several threads", RecordingBean.THREADS.size() >= 2);
+		Assert.assertFalse(RecordingBean.THREADS.contains(Thread.currentThread()));
+
+		Assert.assertEquals(TestRunProfile.get().getTestRuns(TEST_RUNS), parallelNames.size());
+		Assert.assertEquals(sequentialNames, parallelNames);
+	}
+
+	private static List<String> getNames(final RecordingBeanTest test) throws Exception {
+		RecordingBean.NAMES.clear();
+		RecordingBean.THREADS.clear();
+		test.propertyTestForAllConstructors();
+		final List<String> names = new ArrayList<>(RecordingBean.NAMES);
+		Collections.sort(names);
+		return names;
+	}
+
+	@Test
+	public void testFailureReplaysSequentially() throws Exception {
+		final String replay = getReplay(new TestBean5ParallelTest());
+		Assert.assertTrue(replay, replay.startsWith("EQUALS_VALUES:0:"));
+
+		System.setProperty(REPLAY_PROPERTY_NAME, replay);
+		Assert.assertEquals(replay, getReplay(new TestBean5Test()));
+	}
+
+	private static String getReplay(final TestBean5Test test) throws Exception {
+		try {
+			test.equalsValuesTest();
+		} catch (final AssertionError e) {
+			final String message = e.getMessage();
+			Assert.assertTrue(message, message.contains("Failed in "));
+			final int idx = message.indexOf(REPLAY_PREFIX);
+			Assert.assertTrue(message, idx != -1);
+			return message.substring(idx + REPLAY_PREFIX.length());
+		}
+		throw new AssertionError("Expected failure");
+	}
+}
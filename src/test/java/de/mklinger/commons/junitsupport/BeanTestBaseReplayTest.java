@@ -0,0 +1,93 @@
+package de.mklinger.commons.junitsupport;
+
+import org.junit.Assert;
+import org.junit.ComparisonFailure;
+import org.junit.Test;
+
+public class BeanTestBaseReplayTest {
+	/** Bean with a getter returning a different value and a failing hashCode. */
+	public static class BrokenBean {
+		private String name;
+
+		public String getName() {
+			return name + "!";
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			throw new NullPointerException("broken hashCode");
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof BrokenBean && ((BrokenBean) obj).name.equals(name);
+		}
+	}
+
+	public static class BrokenBeanTest extends BeanTestBase<BrokenBean> {
+		public BrokenBeanTest() {
+			super(BrokenBean.class);
+		}
+	}
+
+	private static final String REPLAY_PROPERTY_NAME = TestBean5Test.class.getName() + ".replay";
+	private static final String REPLAY_PREFIX = "Replay with -D" + REPLAY_PROPERTY_NAME + "=";
+
+	@Test
+	public void testReplay() throws Exception {
+		final String replay = getReplay(new TestBean5Test());
+		Assert.assertTrue(replay, replay.startsWith("EQUALS_VALUES:0:"));
+
+		System.setProperty(REPLAY_PROPERTY_NAME, replay);
+		try {
+			final TestBean5Test test = new TestBean5Test();
+			Assert.assertEquals(replay, getReplay(test));
+			// other checks are skipped while replaying
+			test.toStringTestForAllConstructorsFilled();
+		} finally {
+			System.clearProperty(REPLAY_PROPERTY_NAME);
+		}
+	}
+
+	private static String getReplay(final TestBean5Test test) throws Exception {
+		try {
+			test.equalsValuesTest();
+		} catch (final AssertionError e) {
+			final String message = e.getMessage();
+			final int idx = message.indexOf(REPLAY_PREFIX);
+			Assert.assertTrue(message, idx != -1);
+			return message.substring(idx + REPLAY_PREFIX.length());
+		}
+		throw new AssertionError("Expected failure");
+	}
+
+	@Test
+	public void testReplayInfoForException() throws Exception {
+		try {
+			new BrokenBeanTest().hashCodeTest();
+		} catch (final AssertionError e) {
+			Assert.assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof NullPointerException);
+			Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("java.lang.NullPointerException: broken hashCode\n"));
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains(BrokenBeanTest.class.getName() + ".replay=HASH_CODE:0:"));
+			return;
+		}
+		throw new AssertionError("Expected failure");
+	}
+
+	@Test
+	public void testReplayInfoForComparisonFailure() throws Exception {
+		try {
+			new BrokenBeanTest().propertyTestForAllConstructors();
+		} catch (final ComparisonFailure e) {
+			Assert.assertEquals(e.getExpected() + "!", e.getActual());
+			Assert.assertTrue(e.getMessage(), e.getMessage().startsWith(e.getCause().getMessage() + "\n"));
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains(BrokenBeanTest.class.getName() + ".replay=PROPERTIES:0:"));
+			return;
+		}
+		throw new AssertionError("Expected failure");
+	}
+}
@@ -0,0 +1,30 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.RunnerScheduler;
+
+public class ClassScannerTest {
+	@Test
+	public void testDirectory() throws Exception {
+		final List<Class<?>> classes = ClassScanner.scan(getClass().getClassLoader(), getClass().getPackage().getName());
+		assertTrue(classes.contains(TestBean1.class));
+		assertTrue(classes.contains(TestBean10.Mode.class));
+		assertTrue(classes.contains(ClassScannerTest.class));
+		for (final Class<?> clazz : classes) {
+			assertFalse(clazz.getName(), clazz.isAnonymousClass());
+		}
+	}
+
+	@Test
+	public void testJar() throws Exception {
+		final List<Class<?>> classes = ClassScanner.scan(getClass().getClassLoader(), "org.junit.runners");
+		assertTrue(classes.contains(BlockJUnit4ClassRunner.class));
+		assertTrue(classes.contains(RunnerScheduler.class));
+	}
+}
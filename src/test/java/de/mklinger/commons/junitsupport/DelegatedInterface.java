@@ -0,0 +1,12 @@
+package de.mklinger.commons.junitsupport;
+
+public interface DelegatedInterface {
+	void method1();
+	String method2();
+	void method3(final String arg);
+	int method4(final int arg);
+
+	default String method5() {
+		return method2();
+	}
+}
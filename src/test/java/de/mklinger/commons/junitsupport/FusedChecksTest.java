@@ -0,0 +1,118 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+
+public class FusedChecksTest {
+	private static final int TEST_RUNS = 5;
+	/** Beans created per run: empty bean, filled bean and twin. */
+	private static final int BEANS_PER_RUN = 3;
+
+	/** Bean failing only the hashCode check. */
+	public static class IdentityHashCodeBean {
+		private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		private String name;
+
+		public IdentityHashCodeBean() {
+			INSTANCES.incrementAndGet();
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof IdentityHashCodeBean && Objects.equals(name, ((IdentityHashCodeBean) obj).name);
+		}
+
+		@Override
+		public String toString() {
+			return "IdentityHashCodeBean [name=" + name + "]";
+		}
+	}
+
+	public static class IdentityHashCodeBeanFusedTest extends BeanTestBase<IdentityHashCodeBean> {
+		private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		public IdentityHashCodeBeanFusedTest() {
+			super(IdentityHashCodeBean.class, TEST_RUNS);
+			INSTANCES.incrementAndGet();
+		}
+
+		@Override
+		protected boolean isFusedChecks() {
+			return true;
+		}
+	}
+
+	public static class IdentityHashCodeBeanTest extends BeanTestBase<IdentityHashCodeBean> {
+		private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		public IdentityHashCodeBeanTest() {
+			super(IdentityHashCodeBean.class, TEST_RUNS);
+			INSTANCES.incrementAndGet();
+		}
+	}
+
+	@Test
+	public void testFailingCheckReportedByItsMethodOnly() {
+		final int instances = IdentityHashCodeBean.INSTANCES.get();
+		final Result result = new JUnitCore().run(Request.aClass(IdentityHashCodeBeanFusedTest.class));
+		final Set<String> failedMethods = new TreeSet<>();
+		for (final Failure failure : result.getFailures()) {
+			failedMethods.add(failure.getDescription().getMethodName());
+		}
+		Assert.assertEquals(Collections.singleton("hashCodeTest"), failedMethods);
+		Assert.assertEquals(BeanCheck.values().length, result.getRunCount());
+		// all checks were fed from a single pass
+		Assert.assertEquals(BEANS_PER_RUN * getTestRuns(), IdentityHashCodeBean.INSTANCES.get() - instances);
+	}
+
+	@Test
+	public void testResultsScopedToExecution() {
+		final int instances = IdentityHashCodeBean.INSTANCES.get();
+		// a partial execution must not leave results behind for the next one
+		Assert.assertEquals(0, new JUnitCore().run(Request.aClass(IdentityHashCodeBeanFusedTest.class).filterWith(Description.createTestDescription(IdentityHashCodeBeanFusedTest.class, "equalsValuesTest"))).getFailureCount());
+		Assert.assertEquals(BEANS_PER_RUN * getTestRuns(), IdentityHashCodeBean.INSTANCES.get() - instances);
+		Assert.assertEquals(1, new JUnitCore().run(IdentityHashCodeBeanFusedTest.class).getFailureCount());
+		Assert.assertEquals(2 * BEANS_PER_RUN * getTestRuns(), IdentityHashCodeBean.INSTANCES.get() - instances);
+	}
+
+	private static int getTestRuns() {
+		return TestRunProfile.get().getTestRuns(TEST_RUNS);
+	}
+
+	@Test
+	public void testNoTestInstancesForClassRule() {
+		// JUnit creates one instance per test method, the class rule none
+		final int fusedInstances = IdentityHashCodeBeanFusedTest.INSTANCES.get();
+		final Result fused = new JUnitCore().run(IdentityHashCodeBeanFusedTest.class);
+		Assert.assertEquals(fused.getRunCount(), IdentityHashCodeBeanFusedTest.INSTANCES.get() - fusedInstances);
+
+		final int instances = IdentityHashCodeBeanTest.INSTANCES.get();
+		final Result result = new JUnitCore().run(IdentityHashCodeBeanTest.class);
+		Assert.assertEquals(result.getRunCount(), IdentityHashCodeBeanTest.INSTANCES.get() - instances);
+	}
+}
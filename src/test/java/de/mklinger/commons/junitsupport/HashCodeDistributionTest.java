@@ -0,0 +1,49 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HashCodeDistributionTest {
+	@Test
+	public void testRandom() {
+		final Random random = new Random(1);
+		final int[] hashCodes = new int[1000];
+		for (int i = 0; i < hashCodes.length; i++) {
+			hashCodes[i] = random.nextInt();
+		}
+		final HashCodeDistribution distribution = HashCodeDistribution.of(hashCodes);
+		assertEquals(1000, distribution.getCount());
+		assertTrue(distribution.toString(), distribution.getScore() > 0.7);
+	}
+
+	@Test
+	public void testConstant() {
+		final HashCodeDistribution distribution = HashCodeDistribution.of(new int[100]);
+		assertEquals(0.99, distribution.getCollisionRate(), 0.0001);
+		assertTrue(distribution.toString(), distribution.getScore() < 0.05);
+	}
+
+	@Test
+	public void testClustered() {
+		// distinct, but only every 16th bucket is used after spreading
+		final int[] hashCodes = new int[1000];
+		for (int i = 0; i < hashCodes.length; i++) {
+			hashCodes[i] = i << 4;
+		}
+		final HashCodeDistribution distribution = HashCodeDistribution.of(hashCodes);
+		assertEquals(0, distribution.getCollisionRate(), 0);
+		assertTrue(distribution.toString(), distribution.getScore() < 0.2);
+	}
+
+	@Test
+	public void testTableSizeFor() {
+		assertEquals(1, HashCodeDistribution.tableSizeFor(0));
+		assertEquals(16, HashCodeDistribution.tableSizeFor(12));
+		assertEquals(32, HashCodeDistribution.tableSizeFor(13));
+		assertEquals(2048, HashCodeDistribution.tableSizeFor(1000));
+	}
+}
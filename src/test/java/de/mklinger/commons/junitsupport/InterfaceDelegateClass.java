@@ -0,0 +1,29 @@
+package de.mklinger.commons.junitsupport;
+
+public class InterfaceDelegateClass implements DelegatedInterface {
+	private final DelegatedInterface delegate;
+
+	public InterfaceDelegateClass(final DelegatedInterface delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void method1() {
+		delegate.method1();
+	}
+
+	@Override
+	public String method2() {
+		return delegate.method2();
+	}
+
+	@Override
+	public void method3(final String arg) {
+		delegate.method3(arg);
+	}
+
+	@Override
+	public int method4(final int arg) {
+		return delegate.method4(arg);
+	}
+}
@@ -0,0 +1,63 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LatencyBaselineTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testNoWriteWithoutUpdate() throws Exception {
+		final Path file = newBaselineFile("com.example.A#equals=10.0\n");
+		final LatencyBaseline baseline = new LatencyBaseline(file, false);
+		assertEquals(10.0, baseline.getBaselineNanos("com.example.A#equals"), 0);
+		assertNull(baseline.getBaselineNanos("com.example.A#hashCode"));
+
+		baseline.record("com.example.A#equals", 20);
+		baseline.record("com.example.A#hashCode", 5.25);
+		baseline.write();
+		assertEquals("com.example.A#equals=10.0\n", read(file));
+	}
+
+	@Test
+	public void testUpdate() throws Exception {
+		final Path file = newBaselineFile("com.example.A#equals=10.0\ncom.example.B#equals=7.0\n");
+		final LatencyBaseline baseline = new LatencyBaseline(file, true);
+		baseline.record("com.example.A#equals", 20);
+		baseline.record("com.example.A#hashCode", 5.25);
+		baseline.write();
+		assertEquals("com.example.A#equals=20.0\n"
+				+ "com.example.A#hashCode=5.3\n"
+				+ "com.example.B#equals=7.0\n", read(file));
+	}
+
+	@Test
+	public void testMissingFile() throws Exception {
+		final Path file = new File(temporaryFolder.getRoot(), "sub/baseline.properties").toPath();
+		final LatencyBaseline baseline = new LatencyBaseline(file, true);
+		assertNull(baseline.getBaselineNanos("com.example.A#equals"));
+		baseline.record(LatencyBaseline.key(TestBean1.class, "toString"), 100);
+		baseline.write();
+		assertEquals("de.mklinger.commons.junitsupport.TestBean1#toString=100.0\n", read(file));
+	}
+
+	private Path newBaselineFile(final String content) throws Exception {
+		final Path file = temporaryFolder.newFile().toPath();
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String read(final Path file) throws Exception {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,46 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class LatencyMeterTest {
+	@Test
+	public void testPercentile() {
+		final double[] samples = { 5, 1, 4, 2, 3 };
+		assertEquals(3, LatencyMeter.percentile(samples, 0.5), 0);
+		assertEquals(5, LatencyMeter.percentile(samples, 0.99), 0);
+		assertEquals(1, LatencyMeter.percentile(samples, 0), 0);
+		assertEquals(5, samples[0], 0);
+	}
+
+	@Test
+	public void testNanosPerCall() throws Throwable {
+		final double[] nanosPerCall = new LatencyMeter(1, 3).getNanosPerCall(i -> Integer.toString(i).length());
+		assertEquals(3, nanosPerCall.length);
+		for (final double nanos : nanosPerCall) {
+			assertTrue(nanos > 0);
+		}
+	}
+
+	@Test
+	public void testNanosPerCallWithClock() throws Throwable {
+		final AtomicLong clock = new AtomicLong();
+		final double[] nanosPerCall = new LatencyMeter(1, 3, () -> clock.addAndGet(2_000_000)).getNanosPerCall(i -> i);
+		assertEquals(3, nanosPerCall.length);
+		for (final double nanos : nanosPerCall) {
+			assertEquals(2_000_000, nanos, 0);
+		}
+	}
+
+	@Test
+	public void testFitExponent() {
+		final double[] sizes = { 10, 100, 1000 };
+		assertEquals(1, LatencyMeter.fitExponent(sizes, new double[] { 50, 500, 5000 }), 1e-9);
+		assertEquals(2, LatencyMeter.fitExponent(sizes, new double[] { 3, 300, 30000 }), 1e-9);
+		assertEquals(0, LatencyMeter.fitExponent(sizes, new double[] { 7, 7, 7 }), 1e-9);
+	}
+}
@@ -0,0 +1,47 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MemberIndexTest {
+	public static class FieldOnlyBean {
+		private String name;
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	@Test
+	public void testMissingAccessor() {
+		final MemberIndex index = new MemberIndex(FieldOnlyBean.class);
+		assertEquals("name", index.getField("name").getName());
+		assertNull(index.getField("missing"));
+		assertNull(index.getPublicMethod("getName"));
+		assertNull(index.getPublicMethod("setName", String.class));
+		assertNull(index.getPublicConstructor(String.class));
+		assertNotNull(index.getPublicMethod("toString"));
+		assertNotNull(index.getPublicConstructor());
+	}
+
+	@Test
+	public void testMissingAccessorWarnedOnce() {
+		final BeanModel<FieldOnlyBean> model = BeanModel.of(FieldOnlyBean.class);
+		final BeanProperty property = model.getProperty("name");
+		assertNull(property.getGetter());
+		assertNull(property.getSetter());
+		assertNotNull(property.getReader());
+		assertNotNull(property.getWriter());
+
+		assertTrue(model.warnMissingAccessor("getter", "name"));
+		assertFalse(model.warnMissingAccessor("getter", "name"));
+		assertTrue(model.warnMissingAccessor("setter", "name"));
+		assertFalse(model.warnMissingAccessor("setter", "name"));
+	}
+}
@@ -0,0 +1,152 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class MultisetDiffTest {
+	/** Equal by value, but not hashable. */
+	private static class Unhashable implements Comparable<Unhashable> {
+		private final int value;
+
+		Unhashable(final int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof Unhashable && ((Unhashable) obj).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int compareTo(final Unhashable o) {
+			return Integer.compare(value, o.value);
+		}
+
+		@Override
+		public String toString() {
+			return "U" + value;
+		}
+	}
+
+	/** Neither hashable nor comparable. */
+	private static class Opaque extends Unhashable {
+		Opaque(final int value) {
+			super(value);
+		}
+
+		@Override
+		public int compareTo(final Unhashable o) {
+			throw new ClassCastException();
+		}
+	}
+
+	/** Comparing by tens only, so distinct elements compare equal. */
+	private static class Coarse extends Unhashable {
+		Coarse(final int value) {
+			super(value);
+		}
+
+		@Override
+		public int compareTo(final Unhashable o) {
+			return Integer.compare(((Unhashable) this).value / 10, o.value / 10);
+		}
+	}
+
+	@Test
+	public void testEqual() {
+		final MultisetDiff diff = MultisetDiff.of(Arrays.asList("a", "b", null, "a"), new ArrayList<>(Arrays.asList("a", null, "a", "b")));
+		assertTrue(diff.toString(), diff.isEmpty());
+		assertTrue(MultisetDiff.of(Collections.emptySet(), Collections.emptyList()).isEmpty());
+		assertTrue(MultisetDiff.of(new HashSet<>(Arrays.asList(3, 1, 2)), new TreeSet<>(Arrays.asList(1, 2, 3))).isEmpty());
+	}
+
+	@Test
+	public void testDuplicates() {
+		final MultisetDiff diff = MultisetDiff.of(Arrays.asList("a", "a", "b"), Arrays.asList("a", "b", "b"));
+		assertFalse(diff.isEmpty());
+		assertEquals(Arrays.asList("a"), diff.getMissing());
+		assertEquals(Arrays.asList("b"), diff.getUnexpected());
+		assertEquals(String.format("expected size 3, actual size 3%n  1 missing: [a]%n  1 unexpected: [b]"), diff.toString());
+	}
+
+	@Test
+	public void testSizes() {
+		final MultisetDiff diff = MultisetDiff.of(Arrays.asList("a", "b", "c"), Arrays.asList("c", "a"));
+		assertEquals(Arrays.asList("b"), diff.getMissing());
+		assertEquals(Collections.emptyList(), diff.getUnexpected());
+	}
+
+	@Test
+	public void testReportLimit() {
+		final List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			expected.add(i);
+		}
+		final MultisetDiff diff = MultisetDiff.of(expected, Collections.emptyList());
+		assertEquals(25, diff.getMissing().size());
+		assertTrue(diff.toString(), diff.toString().endsWith("25 missing: [0, 1, 2, 3, 4, 5, 6, 7, 8, 9] and 15 more"));
+	}
+
+	@Test
+	public void testUnhashable() {
+		assertTrue(MultisetDiff.of(unhashables(1, 2, 2, 3), unhashables(2, 3, 1, 2)).isEmpty());
+		final MultisetDiff diff = MultisetDiff.of(unhashables(1, 1, 2), unhashables(1, 2, 2));
+		assertEquals(unhashables(1), diff.getMissing());
+		assertEquals(unhashables(2), diff.getUnexpected());
+	}
+
+	@Test
+	public void testCompareEqualNotEqual() {
+		assertTrue(MultisetDiff.of(Arrays.asList(new Coarse(1), new Coarse(2), new Coarse(15)), Arrays.asList(new Coarse(2), new Coarse(15), new Coarse(1))).isEmpty());
+		final MultisetDiff diff = MultisetDiff.of(Arrays.asList(new Coarse(1), new Coarse(2), new Coarse(2)), Arrays.asList(new Coarse(2), new Coarse(1), new Coarse(3)));
+		assertEquals(Arrays.asList(new Coarse(2)), diff.getMissing());
+		assertEquals(Arrays.asList(new Coarse(3)), diff.getUnexpected());
+	}
+
+	@Test
+	public void testBeanTestBaseAssertEquals() {
+		final BeanTestBase<?> test = new TestBean1Test();
+		test.assertEquals("set", new HashSet<>(Arrays.asList("a", "b")), new TreeSet<>(Arrays.asList("b", "a")));
+		try {
+			test.assertEquals("bag", Arrays.asList("a", "a", "b"), new TreeSet<>(Arrays.asList("a", "b")));
+		} catch (final AssertionError e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("bag: collections differ, expected size 3, actual size 2"));
+			return;
+		}
+		fail("Expected AssertionError");
+	}
+
+	@Test
+	public void testOpaque() {
+		final List<Object> expected = Arrays.asList(new Opaque(1), new Opaque(1), new Opaque(2));
+		assertTrue(MultisetDiff.of(expected, Arrays.asList(new Opaque(2), new Opaque(1), new Opaque(1))).isEmpty());
+		final MultisetDiff diff = MultisetDiff.of(expected, Arrays.asList(new Opaque(1), new Opaque(2), new Opaque(2)));
+		assertEquals(Arrays.asList(new Opaque(1)), diff.getMissing());
+		assertEquals(Arrays.asList(new Opaque(2)), diff.getUnexpected());
+	}
+
+	private static Collection<Object> unhashables(final int... values) {
+		final List<Object> result = new ArrayList<>();
+		for (final int value : values) {
+			result.add(new Unhashable(value));
+		}
+		return result;
+	}
+}
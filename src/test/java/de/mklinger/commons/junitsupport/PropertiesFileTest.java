@@ -0,0 +1,49 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PropertiesFileTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testMerge() throws Exception {
+		final Path file = temporaryFolder.getRoot().toPath().resolve("sub").resolve("test.properties");
+		assertTrue(PropertiesFile.read(file).isEmpty());
+
+		PropertiesFile.merge(file, entries -> {
+			assertTrue(entries.isEmpty());
+			final Map<String, String> result = new LinkedHashMap<>();
+			result.put("b key=1:2\\3", "x");
+			result.put("a", "y");
+			return result;
+		});
+		PropertiesFile.merge(file, entries -> {
+			entries.put("c", "z");
+			return entries;
+		});
+
+		final Map<String, String> expected = new LinkedHashMap<>();
+		expected.put("a", "y");
+		expected.put("b key=1:2\\3", "x");
+		expected.put("c", "z");
+		assertEquals(expected, PropertiesFile.read(file));
+	}
+
+	@Test
+	public void testFormatInMapOrder() {
+		final Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("b", "1");
+		entries.put("a b", "2");
+		assertEquals("b=1\na\\ b=2\n", PropertiesFile.format(entries));
+	}
+}
@@ -0,0 +1,79 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class PropertyAccessorsTest {
+	public static class PackagePrivateBean {
+		String name;
+		int count;
+
+		String getName() {
+			return name;
+		}
+
+		void setName(final String name) {
+			this.name = name;
+		}
+
+		int getCount() {
+			count++;
+			return count;
+		}
+	}
+
+	@Test
+	public void testReflectionFallbackForMethods() throws Throwable {
+		final Method getter = PackagePrivateBean.class.getDeclaredMethod("getName");
+		final Method setter = PackagePrivateBean.class.getDeclaredMethod("setName", String.class);
+		final Method counter = PackagePrivateBean.class.getDeclaredMethod("getCount");
+		assertNoHandleAccess(getter);
+
+		final PackagePrivateBean bean = new PackagePrivateBean();
+		PropertyAccessors.writer(setter, MethodHandles.publicLookup()).write(bean, "a");
+		assertEquals("a", bean.name);
+		assertEquals("a", PropertyAccessors.reader(getter, MethodHandles.publicLookup()).read(bean));
+		PropertyAccessors.invoker(counter, MethodHandles.publicLookup()).invoke(bean);
+		assertEquals(1, bean.count);
+	}
+
+	@Test
+	public void testReflectionFallbackForFields() throws Throwable {
+		final Field field = PackagePrivateBean.class.getDeclaredField("name");
+		try {
+			MethodHandles.publicLookup().unreflectGetter(field);
+			fail("Expected no access of public lookup to " + field);
+		} catch (final IllegalAccessException e) {
+			// expected
+		}
+
+		final PackagePrivateBean bean = new PackagePrivateBean();
+		PropertyAccessors.writer(field, MethodHandles.publicLookup()).write(bean, "b");
+		assertEquals("b", bean.name);
+		assertEquals("b", PropertyAccessors.reader(field, MethodHandles.publicLookup()).read(bean));
+	}
+
+	@Test
+	public void testMethodHandles() throws Throwable {
+		final Method getter = PackagePrivateBean.class.getDeclaredMethod("getName");
+		final Method setter = PackagePrivateBean.class.getDeclaredMethod("setName", String.class);
+		final PackagePrivateBean bean = new PackagePrivateBean();
+		PropertyAccessors.writer(setter).write(bean, "c");
+		assertEquals("c", PropertyAccessors.reader(getter).read(bean));
+	}
+
+	private static void assertNoHandleAccess(final Method method) {
+		try {
+			MethodHandles.publicLookup().unreflect(method);
+			fail("Expected no access of public lookup to " + method);
+		} catch (final IllegalAccessException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertyDomainTest {
+	@Test
+	public void testExhaustive() {
+		final Map<String, Class<?>> propertyTypes = new HashMap<>();
+		propertyTypes.put("b", Boolean.TYPE);
+		propertyTypes.put("mode", TestBean10.Mode.class);
+		final PropertyDomain domain = PropertyDomain.of(propertyTypes, 6);
+		Assert.assertTrue(domain.isExhaustive());
+		Assert.assertEquals(6, domain.getRowCount());
+		final Set<Map<String, Object>> rows = new HashSet<>();
+		for (int i = 0; i < domain.getRowCount(); i++) {
+			rows.add(domain.getRow(i));
+		}
+		Assert.assertEquals(6, rows.size());
+	}
+
+	@Test
+	public void testPairwise() {
+		final Map<String, Class<?>> propertyTypes = new HashMap<>();
+		for (int i = 0; i < 6; i++) {
+			propertyTypes.put("mode" + i, TestBean10.Mode.class);
+		}
+		propertyTypes.put("b", Boolean.class);
+		final PropertyDomain domain = PropertyDomain.of(propertyTypes, 100);
+		Assert.assertFalse(domain.isExhaustive());
+		Assert.assertTrue(domain.getRowCount() < 100);
+
+		final List<String> names = new ArrayList<>(propertyTypes.keySet());
+		for (final String a : names) {
+			for (final String b : names) {
+				if (a.compareTo(b) < 0) {
+					final Set<List<Object>> pairs = new HashSet<>();
+					for (int i = 0; i < domain.getRowCount(); i++) {
+						final Map<String, Object> row = domain.getRow(i);
+						pairs.add(Arrays.asList(row.get(a), row.get(b)));
+					}
+					final int expected = PropertyDomain.getValues(propertyTypes.get(a)).length * PropertyDomain.getValues(propertyTypes.get(b)).length;
+					Assert.assertEquals(a + "/" + b, expected, pairs.size());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testNotSmall() {
+		final Map<String, Class<?>> propertyTypes = new HashMap<>();
+		propertyTypes.put("b", Boolean.TYPE);
+		propertyTypes.put("s", String.class);
+		Assert.assertNull(PropertyDomain.of(propertyTypes, 1000));
+	}
+
+	@Test
+	public void testAboveThreshold() {
+		final Map<String, Class<?>> propertyTypes = new HashMap<>();
+		propertyTypes.put("x", Byte.TYPE);
+		propertyTypes.put("y", Byte.TYPE);
+		Assert.assertNull(PropertyDomain.of(propertyTypes, 1000));
+	}
+}
@@ -0,0 +1,129 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+public class ResultCacheTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final AtomicInteger evaluations = new AtomicInteger();
+
+	@Test
+	public void testSkipPassed() throws Throwable {
+		final TestRule rule = ResultCache.rule(newProfile(), TestBean1Test.class, TestBean1.class);
+		final Description description = Description.createTestDescription(TestBean1Test.class, "equalsValuesTest");
+		rule.apply(countingStatement(), description).evaluate();
+		rule.apply(countingStatement(), description).evaluate();
+		assertEquals(1, evaluations.get());
+
+		final Description otherCheck = Description.createTestDescription(TestBean1Test.class, "hashCodeTest");
+		rule.apply(countingStatement(), otherCheck).evaluate();
+		assertEquals(2, evaluations.get());
+
+		final TestRule otherClassRule = ResultCache.rule(newProfile(), TestBean2Test.class, TestBean2.class);
+		otherClassRule.apply(countingStatement(), description).evaluate();
+		assertEquals(3, evaluations.get());
+	}
+
+	@Test
+	public void testNoRecordOnFailure() throws Throwable {
+		final TestRule rule = ResultCache.rule(newProfile(), TestBean1Test.class, TestBean1.class);
+		final Description description = Description.createTestDescription(TestBean1Test.class, "equalsValuesTest");
+		final Statement failing = new Statement() {
+			@Override
+			public void evaluate() {
+				evaluations.incrementAndGet();
+				throw new AssertionError("expected");
+			}
+		};
+		for (int i = 0; i < 2; i++) {
+			try {
+				rule.apply(failing, description).evaluate();
+				fail("Expected AssertionError");
+			} catch (final AssertionError e) {
+				assertEquals("expected", e.getMessage());
+			}
+		}
+		assertEquals(2, evaluations.get());
+	}
+
+	@Test
+	public void testDisabled() throws Throwable {
+		final Properties systemProperties = new Properties();
+		systemProperties.setProperty("junit-support.resultCacheDir", temporaryFolder.getRoot().getPath());
+		final TestRule rule = ResultCache.rule(TestRunProfile.create(systemProperties, new Properties()), TestBean1Test.class, TestBean1.class);
+		final Description description = Description.createTestDescription(TestBean1Test.class, "equalsValuesTest");
+		rule.apply(countingStatement(), description).evaluate();
+		rule.apply(countingStatement(), description).evaluate();
+		assertEquals(2, evaluations.get());
+		assertEquals(0, temporaryFolder.getRoot().listFiles().length);
+	}
+
+	@Test
+	public void testSeedProperty() throws Throwable {
+		final TestRule rule = ResultCache.rule(newProfile(), TestBean1Test.class, TestBean1.class);
+		final Description description = Description.createTestDescription(TestBean1Test.class, "equalsValuesTest");
+		final String seedPropertyName = TestBean1Test.class.getName() + ".seed";
+		rule.apply(countingStatement(), description).evaluate();
+		System.setProperty(seedPropertyName, "42");
+		try {
+			rule.apply(countingStatement(), description).evaluate();
+			rule.apply(countingStatement(), description).evaluate();
+		} finally {
+			System.clearProperty(seedPropertyName);
+		}
+		assertEquals(2, evaluations.get());
+	}
+
+	@Test
+	public void testLatencyBaselineContent() throws Throwable {
+		final File baselineFile = new File(temporaryFolder.getRoot(), "baseline.properties");
+		final TestRunProfile profile = newProfile(baselineFile);
+		final TestRule rule = ResultCache.rule(profile, TestBean1Test.class, TestBean1.class);
+		final Description description = Description.createTestDescription(TestBean1Test.class, "latencyTest");
+		rule.apply(countingStatement(), description).evaluate();
+		Files.write(baselineFile.toPath(), "a=1\n".getBytes(StandardCharsets.UTF_8));
+		rule.apply(countingStatement(), description).evaluate();
+		rule.apply(countingStatement(), description).evaluate();
+		Files.write(baselineFile.toPath(), "a=2\n".getBytes(StandardCharsets.UTF_8));
+		rule.apply(countingStatement(), description).evaluate();
+		assertEquals(3, evaluations.get());
+	}
+
+	private TestRunProfile newProfile() {
+		return newProfile(null);
+	}
+
+	private TestRunProfile newProfile(final File latencyBaselineFile) {
+		final Properties systemProperties = new Properties();
+		systemProperties.setProperty("junit-support.resultCache", "true");
+		systemProperties.setProperty("junit-support.resultCacheDir", new File(temporaryFolder.getRoot(), "cache").getPath());
+		if (latencyBaselineFile != null) {
+			systemProperties.setProperty("junit-support.latencyBaselineFile", latencyBaselineFile.getPath());
+		}
+		return TestRunProfile.create(systemProperties, new Properties());
+	}
+
+	private Statement countingStatement() {
+		return new Statement() {
+			@Override
+			public void evaluate() {
+				evaluations.incrementAndGet();
+			}
+		};
+	}
+}
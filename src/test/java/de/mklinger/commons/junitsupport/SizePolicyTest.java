@@ -0,0 +1,82 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import org.junit.Test;
+
+public class SizePolicyTest {
+	private static final int SAMPLES = 100_000;
+
+	private final LongSupplier random = new Random(1L)::nextLong;
+
+	@Test
+	public void testFixed() {
+		assertEquals(7, SizePolicy.fixed(7).nextSize(random));
+		assertEquals(0, SizePolicy.fixed(0).nextSize(random));
+	}
+
+	@Test
+	public void testRange() {
+		final SizePolicy policy = SizePolicy.range(3, 10);
+		final int[] counts = new int[11];
+		for (int i = 0; i < SAMPLES; i++) {
+			counts[policy.nextSize(random)]++;
+		}
+		for (int size = 0; size < 3; size++) {
+			assertEquals(0, counts[size]);
+		}
+		for (int size = 3; size <= 10; size++) {
+			assertTrue(counts[size] > SAMPLES / 8 * 0.9);
+		}
+	}
+
+	@Test
+	public void testFullRange() {
+		final SizePolicy policy = SizePolicy.range(0, Integer.MAX_VALUE);
+		for (int i = 0; i < SAMPLES; i++) {
+			assertTrue(policy.nextSize(random) >= 0);
+		}
+	}
+
+	@Test
+	public void testLogUniform() {
+		final SizePolicy policy = SizePolicy.logUniform(0, 1_000_000);
+		int small = 0;
+		int huge = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			final int size = policy.nextSize(random);
+			assertTrue(size >= 0 && size <= 1_000_000);
+			if (size < 1000) {
+				small++;
+			} else if (size > 100_000) {
+				huge++;
+			}
+		}
+		// about half of the orders of magnitude are below 1000, one in six above 100,000
+		assertEquals(0.5, small / (double) SAMPLES, 0.02);
+		assertEquals(1 / 6.0, huge / (double) SAMPLES, 0.02);
+	}
+
+	@Test
+	public void testWithOccasional() {
+		final SizePolicy policy = SizePolicy.fixed(5).withOccasional(SizePolicy.fixed(1_000_000), 0.01);
+		int huge = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			final int size = policy.nextSize(random);
+			assertTrue(size == 5 || size == 1_000_000);
+			if (size == 1_000_000) {
+				huge++;
+			}
+		}
+		assertEquals(0.01, huge / (double) SAMPLES, 0.002);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRange() {
+		SizePolicy.range(10, 3);
+	}
+}
@@ -0,0 +1,27 @@
+package de.mklinger.commons.junitsupport;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SplitMix64RandomSourceTest {
+	@Test
+	public void testJump() {
+		final RandomSource source = new SplitMix64RandomSource(42L);
+		for (int i = 0; i < 17; i++) {
+			source.nextLong();
+		}
+		final RandomSource jumped = new SplitMix64RandomSource(42L);
+		jumped.jump(17);
+		Assert.assertEquals(source.nextLong(), jumped.nextLong());
+	}
+
+	@Test
+	public void testSplitIndependentOfConsumption() {
+		final RandomSource source = new SplitMix64RandomSource(42L);
+		final long expected = source.split(3).nextLong();
+		source.nextLong();
+		source.split(2).nextLong();
+		Assert.assertEquals(expected, source.split(3).nextLong());
+		Assert.assertNotEquals(expected, source.split(4).nextLong());
+	}
+}
@@ -0,0 +1,74 @@
+package de.mklinger.commons.junitsupport;
+
+/**
+ * Bean with small property domains only.
+ */
+public class TestBean10 {
+	public enum Mode {
+		A, B, C
+	}
+
+	private boolean b;
+	private byte y;
+	private Mode mode;
+
+	public TestBean10() {
+	}
+
+	public TestBean10(TestBean10 source) {
+		this.b = source.b;
+		this.y = source.y;
+		this.mode = source.mode;
+	}
+
+	public boolean isB() {
+		return b;
+	}
+
+	public void setB(boolean b) {
+		this.b = b;
+	}
+
+	public byte getY() {
+		return y;
+	}
+
+	public void setY(byte y) {
+		this.y = y;
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (b ? 1231 : 1237);
+		result = prime * result + y;
+		result = prime * result + ((mode == null) ? 0 : mode.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TestBean10 other = (TestBean10)obj;
+		return b == other.b && y == other.y && mode == other.mode;
+	}
+
+	@Override
+	public String toString() {
+		return "TestBean10 [b=" + b + ", y=" + y + ", mode=" + mode + "]";
+	}
+}
@@ -0,0 +1,13 @@
+package de.mklinger.commons.junitsupport;
+
+public class TestBean10Test extends BeanTestBase<TestBean10> {
+	public TestBean10Test() {
+		super(TestBean10.class);
+	}
+
+	@Override
+	protected long getExhaustiveDomainThreshold() {
+		// 2 * 256 * 3 combinations: covered pairwise
+		return 1000;
+	}
+}
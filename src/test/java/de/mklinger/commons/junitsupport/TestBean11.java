@@ -0,0 +1,65 @@
+package de.mklinger.commons.junitsupport;
+
+/**
+ * Bean with a correct, but poorly distributed hashCode.
+ */
+public class TestBean11 {
+	private int id;
+	private String name;
+	private boolean active;
+
+	public TestBean11() {
+	}
+
+	public TestBean11(TestBean11 source) {
+		this.id = source.id;
+		this.name = source.name;
+		this.active = source.active;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	@Override
+	public int hashCode() {
+		return active ? 1231 : 1237;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TestBean11 other = (TestBean11) obj;
+		return id == other.id && active == other.active && (name == null ? other.name == null : name.equals(other.name));
+	}
+
+	@Override
+	public String toString() {
+		return "TestBean11 [id=" + id + ", name=" + name + ", active=" + active + "]";
+	}
+}
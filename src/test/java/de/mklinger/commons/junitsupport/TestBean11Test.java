@@ -0,0 +1,28 @@
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+public class TestBean11Test extends BeanPerformanceTestBase<TestBean11> {
+	public TestBean11Test() {
+		super(TestBean11.class);
+	}
+
+	@Override
+	protected int getHashCodeSamples() {
+		return 200;
+	}
+
+	@Override
+	@Test(expected = AssertionError.class)
+	public void hashCodeDistributionTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		super.hashCodeDistributionTest();
+	}
+
+	@Override
+	@Test(expected = AssertionError.class)
+	public void hashCodeSensitivityTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		super.hashCodeSensitivityTest();
+	}
+}
@@ -0,0 +1,57 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.Objects;
+
+/**
+ * Bean with a hashCode allocating a varargs array and boxed values per call.
+ */
+public class TestBean12 {
+	private long id;
+	private String name;
+
+	public TestBean12() {
+	}
+
+	public TestBean12(TestBean12 source) {
+		this.id = source.id;
+		this.name = source.name;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, name);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TestBean12 other = (TestBean12) obj;
+		return id == other.id && Objects.equals(name, other.name);
+	}
+
+	@Override
+	public String toString() {
+		return "TestBean12 [id=" + id + ", name=" + name + "]";
+	}
+}
@@ -0,0 +1,60 @@
+package de.mklinger.commons.junitsupport;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestBean12LatencyTest extends BeanPerformanceTestBase<TestBean12> {
+	private static final long CLOCK_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static File baselineFile;
+
+	public TestBean12LatencyTest() {
+		super(TestBean12.class);
+	}
+
+	@BeforeClass
+	public static void createBaseline() throws Exception {
+		baselineFile = temporaryFolder.newFile();
+		final String content = "de.mklinger.commons.junitsupport.TestBean12#equals=1000000\n"
+				+ "de.mklinger.commons.junitsupport.TestBean12#hashCode=1000000\n"
+				+ "de.mklinger.commons.junitsupport.TestBean12#toString=1000000\n";
+		Files.write(baselineFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	protected String getLatencyBaselineFile() {
+		return baselineFile.getPath();
+	}
+
+	@Override
+	protected int getLatencyIterations() {
+		return 3;
+	}
+
+	/**
+	 * Every timed iteration takes 10ms, ten times the baseline.
+	 */
+	@Override
+	LatencyMeter createLatencyMeter(final int warmUpIterations, final int iterations) {
+		final AtomicLong nanos = new AtomicLong();
+		return new LatencyMeter(warmUpIterations, iterations, () -> nanos.addAndGet(CLOCK_STEP_NANOS));
+	}
+
+	@Override
+	@Test(expected = AssertionError.class)
+	public void latencyTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		super.latencyTest();
+	}
+}
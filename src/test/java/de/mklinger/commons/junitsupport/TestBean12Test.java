@@ -0,0 +1,22 @@
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+public class TestBean12Test extends BeanPerformanceTestBase<TestBean12> {
+	public TestBean12Test() {
+		super(TestBean12.class);
+	}
+
+	@Override
+	protected int getAllocationCalls() {
+		return 10_000;
+	}
+
+	@Override
+	@Test(expected = AssertionError.class)
+	public void allocationTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		super.allocationTest();
+	}
+}
@@ -0,0 +1,88 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bean with collection, map and array properties and linear equals,
+ * hashCode and toString.
+ */
+public class TestBean13 {
+	private String name;
+	private List<String> items;
+	private Map<String, Integer> counts;
+	private long[] values;
+
+	public TestBean13() {
+	}
+
+	public TestBean13(TestBean13 source) {
+		this.name = source.name;
+		this.items = source.items;
+		this.counts = source.counts;
+		this.values = source.values;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public List<String> getItems() {
+		return items;
+	}
+
+	public void setItems(List<String> items) {
+		this.items = items;
+	}
+
+	public Map<String, Integer> getCounts() {
+		return counts;
+	}
+
+	public void setCounts(Map<String, Integer> counts) {
+		this.counts = counts;
+	}
+
+	public long[] getValues() {
+		return values;
+	}
+
+	public void setValues(long[] values) {
+		this.values = values;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Objects.hashCode(name);
+		result = 31 * result + Objects.hashCode(items);
+		result = 31 * result + Objects.hashCode(counts);
+		result = 31 * result + Arrays.hashCode(values);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TestBean13 other = (TestBean13) obj;
+		return Objects.equals(name, other.name)
+				&& Objects.equals(items, other.items)
+				&& Objects.equals(counts, other.counts)
+				&& Arrays.equals(values, other.values);
+	}
+
+	@Override
+	public String toString() {
+		return "TestBean13 [name=" + name + ", items=" + items + ", counts=" + counts + ", values=" + Arrays.toString(values) + "]";
+	}
+}
@@ -0,0 +1,25 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestBean13SizePolicyTest extends BeanTestBase<TestBean13> {
+	public TestBean13SizePolicyTest() {
+		super(TestBean13.class);
+		setSizePolicy(SizePolicy.fixed(4));
+		setSizePolicy(long[].class, SizePolicy.fixed(5));
+		setPropertySizePolicy("items", SizePolicy.fixed(100_000));
+	}
+
+	@Test
+	public void testSizes() throws Exception {
+		final TestBean13 bean = new TestBean13();
+		final Map<String, Object> values = fillBean(bean, null);
+		Assert.assertEquals(values.get("items"), bean.getItems());
+		Assert.assertEquals(100_000, bean.getItems().size());
+		Assert.assertEquals(4, bean.getCounts().size());
+		Assert.assertEquals(5, bean.getValues().length);
+	}
+}
@@ -0,0 +1,12 @@
+package de.mklinger.commons.junitsupport;
+
+public class TestBean13Test extends BeanPerformanceTestBase<TestBean13> {
+	public TestBean13Test() {
+		super(TestBean13.class);
+	}
+
+	@Override
+	protected int getComplexityMaxSize() {
+		return 1000;
+	}
+}
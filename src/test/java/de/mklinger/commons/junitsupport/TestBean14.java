@@ -0,0 +1,50 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.List;
+
+/**
+ * Bean with an equals comparing its list in quadratic time.
+ */
+public class TestBean14 {
+	private List<String> items;
+
+	public TestBean14() {
+	}
+
+	public TestBean14(TestBean14 source) {
+		this.items = source.items;
+	}
+
+	public List<String> getItems() {
+		return items;
+	}
+
+	public void setItems(List<String> items) {
+		this.items = items;
+	}
+
+	@Override
+	public int hashCode() {
+		return items == null ? 0 : items.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		TestBean14 other = (TestBean14) obj;
+		if (items == null || other.items == null) {
+			return items == other.items;
+		}
+		return items.size() == other.items.size() && items.containsAll(other.items) && items.equals(other.items);
+	}
+
+	@Override
+	public String toString() {
+		return "TestBean14 [items=" + items + "]";
+	}
+}
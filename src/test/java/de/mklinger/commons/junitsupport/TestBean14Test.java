@@ -0,0 +1,22 @@
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+public class TestBean14Test extends BeanPerformanceTestBase<TestBean14> {
+	public TestBean14Test() {
+		super(TestBean14.class);
+	}
+
+	@Override
+	protected int getComplexityMaxSize() {
+		return 1000;
+	}
+
+	@Override
+	@Test(expected = AssertionError.class)
+	public void complexityTest() throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchFieldException, NoSuchMethodException {
+		super.complexityTest();
+	}
+}
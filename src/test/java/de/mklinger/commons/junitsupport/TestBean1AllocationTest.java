@@ -0,0 +1,12 @@
+package de.mklinger.commons.junitsupport;
+
+public class TestBean1AllocationTest extends BeanPerformanceTestBase<TestBean1> {
+	public TestBean1AllocationTest() {
+		super(TestBean1.class);
+	}
+
+	@Override
+	protected int getAllocationCalls() {
+		return 10_000;
+	}
+}
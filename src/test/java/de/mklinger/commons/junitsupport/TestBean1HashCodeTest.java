@@ -0,0 +1,12 @@
+package de.mklinger.commons.junitsupport;
+
+public class TestBean1HashCodeTest extends BeanPerformanceTestBase<TestBean1> {
+	public TestBean1HashCodeTest() {
+		super(TestBean1.class);
+	}
+
+	@Override
+	protected int getHashCodeSamples() {
+		return 500;
+	}
+}
@@ -0,0 +1,44 @@
+package de.mklinger.commons.junitsupport;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.rules.TemporaryFolder;
+
+public class TestBean1LatencyTest extends BeanPerformanceTestBase<TestBean1> {
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static File baselineFile;
+
+	public TestBean1LatencyTest() {
+		super(TestBean1.class);
+	}
+
+	@BeforeClass
+	public static void createBaseline() throws Exception {
+		baselineFile = temporaryFolder.newFile();
+		final String content = "de.mklinger.commons.junitsupport.TestBean1#equals=1000000\n"
+				+ "de.mklinger.commons.junitsupport.TestBean1#hashCode=1000000\n"
+				+ "de.mklinger.commons.junitsupport.TestBean1#toString=1000000\n";
+		Files.write(baselineFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	protected String getLatencyBaselineFile() {
+		return baselineFile.getPath();
+	}
+
+	@Override
+	protected int getLatencyRounds() {
+		return 2;
+	}
+
+	@Override
+	protected int getLatencyIterations() {
+		return 3;
+	}
+}
@@ -0,0 +1,34 @@
+package de.mklinger.commons.junitsupport;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRunBudgetTest {
+	@Test
+	public void testFixedRuns() {
+		final TestRunBudget budget = new TestRunBudget(0, 1, 3);
+		Assert.assertTrue(budget.isStartRun(2));
+		Assert.assertFalse(budget.isStartRun(3));
+	}
+
+	@Test
+	public void testTimeBudget() throws InterruptedException {
+		final TestRunBudget budget = new TestRunBudget(1, 2, Integer.MAX_VALUE);
+		Thread.sleep(5);
+		// minimum runs are always started
+		Assert.assertTrue(budget.isStartRun(1));
+		Assert.assertFalse(budget.isStartRun(2));
+	}
+
+	@Test
+	public void testMeanRunNanosAfterWarmUp() {
+		final TestRunBudget budget = new TestRunBudget(1000, 1, 10);
+		budget.runDone(0, 1000000);
+		budget.runDone(1, 1000000);
+		Assert.assertEquals(0, budget.getMeanRunNanos());
+		budget.runDone(2, 100);
+		budget.runDone(3, 300);
+		Assert.assertEquals(200, budget.getMeanRunNanos());
+		Assert.assertEquals(4, budget.getRunsDone());
+	}
+}
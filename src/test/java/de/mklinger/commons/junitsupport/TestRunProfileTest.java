@@ -0,0 +1,75 @@
+package de.mklinger.commons.junitsupport;
+
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRunProfileTest {
+	@Test
+	public void testDefaults() {
+		final TestRunProfile profile = TestRunProfile.create(new Properties(), new Properties());
+		Assert.assertNull(profile.getName());
+		Assert.assertEquals(20, profile.getTestRuns(20));
+		Assert.assertEquals(0, profile.getTimeBudgetMillis());
+	}
+
+	@Test
+	public void testProfileFromConfig() {
+		final Properties config = new Properties();
+		config.setProperty("profile", "nightly");
+		config.setProperty("maxTestRuns", "50");
+		config.setProperty("dev.testRuns", "1");
+		config.setProperty("nightly.testRunsScale", "100");
+		config.setProperty("nightly.maxTestRuns", "2000");
+		config.setProperty("nightly.timeBudgetMillis", "10000");
+
+		final TestRunProfile nightly = TestRunProfile.create(new Properties(), config);
+		Assert.assertEquals("nightly", nightly.getName());
+		Assert.assertEquals(100, nightly.getTestRuns(1));
+		Assert.assertEquals(2000, nightly.getTestRuns(20));
+		Assert.assertEquals(10000, nightly.getTimeBudgetMillis());
+
+		final Properties systemProperties = new Properties();
+		systemProperties.setProperty("junit-support.profile", "dev");
+		final TestRunProfile dev = TestRunProfile.create(systemProperties, config);
+		Assert.assertEquals(1, dev.getTestRuns(20));
+
+		systemProperties.setProperty("junit-support.profile", "ci");
+		final TestRunProfile ci = TestRunProfile.create(systemProperties, config);
+		Assert.assertEquals(20, ci.getTestRuns(20));
+		Assert.assertEquals(50, ci.getTestRuns(100));
+	}
+
+	@Test
+	public void testSystemPropertyOverridesConfig() {
+		final Properties config = new Properties();
+		config.setProperty("testRuns", "5");
+		final Properties systemProperties = new Properties();
+		systemProperties.setProperty("junit-support.testRuns", "3");
+		Assert.assertEquals(3, TestRunProfile.create(systemProperties, config).getTestRuns(20));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidProfile() {
+		final Properties config = new Properties();
+		config.setProperty("maxTestRuns", "0");
+		TestRunProfile.create(new Properties(), config);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidShardIndex() {
+		final Properties config = new Properties();
+		config.setProperty("shardCount", "2");
+		config.setProperty("shardIndex", "2");
+		TestRunProfile.create(new Properties(), config);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testShardTimingsFileIsNotTimingsFile() {
+		final Properties config = new Properties();
+		config.setProperty("timingsFile", "target/timings.properties");
+		config.setProperty("shardTimingsFile", "target/timings.properties");
+		TestRunProfile.create(new Properties(), config);
+	}
+}
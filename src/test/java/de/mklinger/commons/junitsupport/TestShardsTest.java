@@ -0,0 +1,92 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+
+public class TestShardsTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testLongestFirst() {
+		final Map<String, Long> classMicros = new HashMap<>();
+		classMicros.put("a", 700L);
+		classMicros.put("b", 500L);
+		classMicros.put("c", 400L);
+		classMicros.put("d", 300L);
+		classMicros.put("e", 100L);
+		final TestShards shards = TestShards.of(classMicros, 2);
+		assertEquals(0, shards.getShard("a"));
+		assertEquals(1, shards.getShard("b"));
+		assertEquals(1, shards.getShard("c"));
+		assertEquals(0, shards.getShard("d"));
+		assertEquals(1, shards.getShard("e"));
+		assertEquals(1000, shards.getShardMicros(0));
+		assertEquals(1000, shards.getShardMicros(1));
+	}
+
+	@Test
+	public void testUnknownClasses() {
+		final TestShards shards = TestShards.of(new HashMap<>(), 3);
+		for (int i = 0; i < 100; i++) {
+			final String className = "com.example.Bean" + i;
+			final int shard = shards.getShard(className);
+			assertTrue(shard >= 0 && shard < 3);
+			assertEquals(shard, TestShards.of(new HashMap<>(), 3).getShard(className));
+		}
+	}
+
+	@Test
+	public void testFilter() {
+		final Map<String, Long> classMicros = new HashMap<>();
+		classMicros.put(TestBean1Test.class.getName(), 1000L);
+		classMicros.put(TestException1Test.class.getName(), 10L);
+		final TestShards shards = TestShards.of(classMicros, 2);
+		final Result shard0 = new JUnitCore().run(Request.classes(TestBean1Test.class, TestException1Test.class).filterWith(shards.filter(0)));
+		final Result shard1 = new JUnitCore().run(Request.classes(TestBean1Test.class, TestException1Test.class).filterWith(shards.filter(1)));
+		assertEquals(new JUnitCore().run(TestBean1Test.class).getRunCount(), shard0.getRunCount());
+		assertEquals(new JUnitCore().run(TestException1Test.class).getRunCount(), shard1.getRunCount());
+	}
+
+	@Test
+	public void testProfileFilterIgnoresRecordedTimings() throws Exception {
+		final File timingsFile = temporaryFolder.newFile();
+		final File shardTimingsFile = temporaryFolder.newFile();
+		final String timings = "a=700\nb=500\nc=400\nd=300\ne=100\n";
+		Files.write(timingsFile.toPath(), timings.getBytes(StandardCharsets.UTF_8));
+		Files.write(shardTimingsFile.toPath(), timings.getBytes(StandardCharsets.UTF_8));
+		final Properties systemProperties = new Properties();
+		systemProperties.setProperty("junit-support.timingsFile", timingsFile.getPath());
+		systemProperties.setProperty("junit-support.shardTimingsFile", shardTimingsFile.getPath());
+		systemProperties.setProperty("junit-support.shardCount", "2");
+		final TestRunProfile profile = TestRunProfile.create(systemProperties, new Properties());
+
+		final Filter before = TestShards.profileFilter(profile);
+		// another fork records its timings
+		Files.write(timingsFile.toPath(), "a=100\nb=300\nc=400\nd=500\ne=700\n".getBytes(StandardCharsets.UTF_8));
+		final Filter after = TestShards.profileFilter(profile);
+
+		for (final String className : new String[] { "a", "b", "c", "d", "e" }) {
+			final Description description = Description.createTestDescription(className, "test");
+			final boolean expected = "a".equals(className) || "d".equals(className);
+			assertEquals(className, expected, before.shouldRun(description));
+			assertEquals(className, expected, after.shouldRun(description));
+		}
+	}
+}
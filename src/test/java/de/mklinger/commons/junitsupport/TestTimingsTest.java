@@ -0,0 +1,39 @@
+package de.mklinger.commons.junitsupport;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestTimingsTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testFormat() throws Exception {
+		final Map<String, Long> checkMicros = new TreeMap<>();
+		checkMicros.put("com.example.BTest#hashCodeTest", 5L);
+		checkMicros.put("com.example.ATest#equalsValuesTest", 20L);
+		checkMicros.put("com.example.ATest#hashCodeTest", 10L);
+		final String content = TestTimings.format(checkMicros);
+		assertEquals("com.example.ATest#equalsValuesTest=20\n"
+				+ "com.example.ATest#hashCodeTest=10\n"
+				+ "com.example.BTest#hashCodeTest=5\n"
+				+ "com.example.ATest=30\n"
+				+ "com.example.BTest=5\n", content);
+
+		final File file = temporaryFolder.newFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		final Map<String, Long> classMicros = TestTimings.readClassMicros(file.toPath());
+		assertEquals(2, classMicros.size());
+		assertEquals(30L, classMicros.get("com.example.ATest").longValue());
+		assertEquals(5L, classMicros.get("com.example.BTest").longValue());
+	}
+}
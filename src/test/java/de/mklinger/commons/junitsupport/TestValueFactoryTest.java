@@ -0,0 +1,168 @@
+package de.mklinger.commons.junitsupport;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestValueFactoryTest {
+	private static class CustomValue {
+		private final long value;
+
+		public CustomValue(final long value) {
+			this.value = value;
+		}
+	}
+
+	private static class CustomValueFactory extends TestValueFactory {
+		public CustomValueFactory() {
+			super(new Random(1L)::nextLong);
+			registerValueGenerator(CustomValue.class, (factory, type) -> new CustomValue(getNextTestValue()));
+			registerValueGenerator(String.class, (factory, type) -> "custom");
+		}
+	}
+
+	private static class OverridingValueFactory extends TestValueFactory {
+		public OverridingValueFactory() {
+			super(new Random(1L)::nextLong);
+		}
+
+		@Override
+		protected Object createValue(final Type type) {
+			if (type == CustomValue.class) {
+				return new CustomValue(getNextTestValue());
+			}
+			return super.createValue(type);
+		}
+	}
+
+	private static class SizedValueFactory extends TestValueFactory {
+		public SizedValueFactory() {
+			super(new Random(1L)::nextLong);
+			setSizePolicy(SizePolicy.fixed(2));
+			setSizePolicy(List.class, SizePolicy.range(20, 30));
+			setSizePolicy(byte[].class, SizePolicy.fixed(2_000_000));
+		}
+	}
+
+	private Map<String, List<Set<Long>>> nested;
+	private List<CustomValue> customValues;
+
+	@Test
+	public void testNestedGenericType() throws Exception {
+		final TestValueFactory factory = new TestValueFactory(new Random(1L)::nextLong);
+		final Type type = TestValueFactoryTest.class.getDeclaredField("nested").getGenericType();
+		for (int i = 0; i < 2; i++) {
+			@SuppressWarnings("unchecked")
+			final Map<String, List<Set<Long>>> value = (Map<String, List<Set<Long>>>) factory.createValue(type);
+			Assert.assertFalse(value.isEmpty());
+			for (final Map.Entry<String, List<Set<Long>>> entry : value.entrySet()) {
+				Assert.assertNotNull(entry.getKey());
+				Assert.assertFalse(entry.getValue().isEmpty());
+				Assert.assertFalse(entry.getValue().get(0).isEmpty());
+				Assert.assertTrue(entry.getValue().get(0).iterator().next() instanceof Long);
+			}
+		}
+	}
+
+	@Test
+	public void testOverriddenCreateValueForElements() throws Exception {
+		final TestValueFactory factory = new OverridingValueFactory();
+		final Type type = TestValueFactoryTest.class.getDeclaredField("customValues").getGenericType();
+		final List<?> value = (List<?>) factory.createValue(type);
+		Assert.assertFalse(value.isEmpty());
+		Assert.assertTrue(value.get(0) instanceof CustomValue);
+	}
+
+	@Test
+	public void testRegisteredValueGenerator() {
+		final CustomValueFactory factory = new CustomValueFactory();
+		Assert.assertTrue(factory.createValue(CustomValue.class) instanceof CustomValue);
+		final CustomValue[] values = (CustomValue[]) factory.createValue(CustomValue[].class);
+		Assert.assertTrue(values.length > 0);
+		Assert.assertNotNull(values[0]);
+	}
+
+	@Test
+	public void testRegisteredValueGeneratorReplacesBuiltIn() {
+		final CustomValueFactory factory = new CustomValueFactory();
+		Assert.assertEquals("custom", factory.createValue(String.class));
+		Assert.assertEquals("custom", factory.createValue(Object.class));
+	}
+
+	@Test
+	public void testPrimitiveArrays() {
+		final TestValueFactory factory = new TestValueFactory(new AtomicLong()::incrementAndGet);
+		final int[] ints = (int[]) factory.createValue(int[].class);
+		Assert.assertTrue(ints.length > 0);
+		Assert.assertEquals(ints[0] + 1, ints[1]);
+		final double[] doubles = new double[3];
+		factory.fillDoubleArray(doubles);
+		Assert.assertEquals(doubles[0] + 1, doubles[1], 0.0);
+	}
+
+	@Test
+	public void testPrimitiveArrayWithRegisteredValueGenerator() {
+		final TestValueFactory factory = new TestValueFactory(new AtomicLong()::incrementAndGet) {
+			{
+				registerValueGenerator(Integer.TYPE, (valueFactory, type) -> 42);
+			}
+		};
+		final int[] ints = (int[]) factory.createValue(int[].class);
+		Assert.assertTrue(ints.length > 0);
+		for (final int i : ints) {
+			Assert.assertEquals(42, i);
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testUnsupportedType() {
+		new TestValueFactory(new AtomicLong()::incrementAndGet).createValue(CustomValue.class);
+	}
+
+	@Test
+	public void testSizePolicies() throws Exception {
+		final TestValueFactory factory = new SizedValueFactory();
+		final Type type = TestValueFactoryTest.class.getDeclaredField("nested").getGenericType();
+		@SuppressWarnings("unchecked")
+		final Map<String, List<Set<Long>>> value = (Map<String, List<Set<Long>>>) factory.createValue(type);
+		Assert.assertEquals(2, value.size());
+		for (final List<Set<Long>> list : value.values()) {
+			Assert.assertTrue(list.size() >= 20 && list.size() <= 30);
+			for (final Set<Long> set : list) {
+				Assert.assertEquals(2, set.size());
+			}
+		}
+		Assert.assertEquals(2_000_000, ((byte[]) factory.createValue(byte[].class)).length);
+		Assert.assertEquals(2, ((long[]) factory.createValue(long[].class)).length);
+	}
+
+	@Test
+	public void testOutermostSizePolicy() throws Exception {
+		final TestValueFactory factory = new TestValueFactory(new Random(1L)::nextLong);
+		final Type type = TestValueFactoryTest.class.getDeclaredField("nested").getGenericType();
+		@SuppressWarnings("unchecked")
+		final Map<String, List<Set<Long>>> value = (Map<String, List<Set<Long>>>) factory.createValue(type, SizePolicy.fixed(1000));
+		Assert.assertEquals(1000, value.size());
+		for (final List<Set<Long>> list : value.values()) {
+			Assert.assertTrue(list.size() >= 3 && list.size() <= 10);
+		}
+		// only used once
+		Assert.assertTrue(((long[]) factory.createValue(long[].class)).length <= 10);
+	}
+
+	@Test
+	public void testSameSizeForSeed() throws Exception {
+		final TestValueFactory factory = new TestValueFactory(new Random(1L)::nextLong);
+		final Type type = TestValueFactoryTest.class.getDeclaredField("nested").getGenericType();
+		final Object value1 = factory.createValue(type, 100, 42L);
+		final Object value2 = factory.createValue(type, 100, 42L);
+		Assert.assertEquals(value1, value2);
+		Assert.assertNotSame(value1, value2);
+	}
+}